@@ -0,0 +1,23 @@
+package com.example;
+
+import su.piskun.exlib.core.HttpEx;
+
+/**
+ * An application service for the benchmarks, since the frames of the library packages are not throw sites.
+ */
+public final class UserService {
+
+    private UserService() {}
+
+    /**
+     * Creates an exception at the bottom of a call chain of the given depth.
+     * @param depth the number of frames above the throw site.
+     * @return a new exception.
+     */
+    public static HttpEx find(int depth) {
+        if (depth == 0) {
+            return HttpEx.notFound("user with id %s not found", 42);
+        }
+        return find(depth - 1);
+    }
+}
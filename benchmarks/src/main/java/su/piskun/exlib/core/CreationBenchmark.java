@@ -0,0 +1,85 @@
+package su.piskun.exlib.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the exception creation API: {@code Ex.as}, the {@code HttpEx} factories
+ * and {@code Ex.Builder.context}, with and without stack traces, on a single thread and under contention.
+ * Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreationBenchmark {
+
+    @Param({"FULL", "NONE"})
+    private ExStackTrace stackTrace;
+
+    private final long id = 42;
+
+    @Setup
+    public void setup() {
+        ExSettings.setDefaultStackTrace(stackTrace);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ExSettings.reset();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Ex exAs() {
+        return Ex.as("user not found");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public HttpEx httpExFactory() {
+        return HttpEx.notFound("user with id %s not found", id);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Ex builderContext() {
+        return context();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public HttpEx httpExFactoryContended() {
+        return HttpEx.notFound("user with id %s not found", id);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Ex builderContextContended() {
+        return context();
+    }
+
+    private Ex context() {
+        return HttpEx.badRequest()
+            .message("invalid request")
+            .context("userId", id)
+            .context("field", "email")
+            .context("reason", "format")
+            .build();
+    }
+}
@@ -0,0 +1,57 @@
+package su.piskun.exlib.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the built-in {@link ExIdGenerator}s on a single thread and under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({"secureRandom", "random", "timeOrdered", "sequential"})
+    private String generatorName;
+
+    private ExIdGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = switch (generatorName) {
+            case "secureRandom" -> ExIdGenerator.secureRandom();
+            case "random" -> ExIdGenerator.random();
+            case "timeOrdered" -> ExIdGenerator.timeOrdered();
+            case "sequential" -> ExIdGenerator.sequential();
+            default -> throw new IllegalArgumentException(generatorName);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID singleThreaded() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UUID contended() {
+        return generator.generate();
+    }
+}
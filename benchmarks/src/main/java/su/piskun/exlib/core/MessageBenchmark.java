@@ -0,0 +1,65 @@
+package su.piskun.exlib.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the formatted messages.
+ * <p>
+ *     The exceptions are stackless to isolate the message handling.
+ *     Run with {@code -prof gc} to see the allocation rate per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+
+    private static final ExTemplate TEMPLATE = ExTemplate.of("user with id {} not found");
+
+    private final long id = 42;
+
+    @Setup
+    public void setup() {
+        ExSettings.setDefaultStackTrace(ExStackTrace.NONE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ExSettings.reset();
+    }
+
+    @Benchmark
+    public HttpEx plainMessage() {
+        return HttpEx.notFound("user not found");
+    }
+
+    @Benchmark
+    public HttpEx formatMessageUnread() {
+        return HttpEx.notFound("user with id %s not found", id);
+    }
+
+    @Benchmark
+    public String formatMessageRead() {
+        return HttpEx.notFound("user with id %s not found", id).getMessage();
+    }
+
+    @Benchmark
+    public String templateMessageRead() {
+        return HttpEx.notFound(TEMPLATE, id).getMessage();
+    }
+}
@@ -0,0 +1,40 @@
+package su.piskun.exlib.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of counting an exception in {@link ExMetrics}, on a single thread and under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private final ExMetrics metrics = new ExMetrics();
+
+    @Benchmark
+    @Threads(1)
+    public void singleThreaded() {
+        metrics.record(HttpEx.CLIENT_ERROR, HttpEx.NOT_FOUND, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void contended() {
+        metrics.record(HttpEx.CLIENT_ERROR, HttpEx.NOT_FOUND, System.nanoTime());
+    }
+}
@@ -0,0 +1,56 @@
+package su.piskun.exlib.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares an expected failure reported by throwing an exception and by returning an {@link ExResult}.
+ * Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultBenchmark {
+
+    private static final ExTemplate INVALID_VALUE = ExTemplate.of("invalid value: {}");
+
+    private final String value = "x";
+
+    @Benchmark
+    public Object throwAndCatch() {
+        try {
+            throw HttpEx.badRequest(INVALID_VALUE, value);
+        } catch (HttpEx e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object throwAndCatchStackless() {
+        try {
+            throw HttpEx.badRequest()
+                .message(INVALID_VALUE, value)
+                .stackless()
+                .build();
+        } catch (HttpEx e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object result() {
+        return ExResult.failure(ExFailure.http(HttpEx.BAD_REQUEST, INVALID_VALUE, value));
+    }
+}
@@ -0,0 +1,63 @@
+package su.piskun.exlib.core;
+
+import com.example.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of {@code HttpEx.notFound(...)} with and without stack traces.
+ * The {@code CAPTURE_POLICY} mode is the {@code FULL} one with a saturated {@link ExCapturePolicy},
+ * i.e. the steady state of an error storm, when every exception is created stackless by the policy.
+ * <p>
+ *     The exception is created at the bottom of a call chain of the given depth
+ *     to mimic a service method called through a web framework.
+ *     The chain is in an application package, so the policy finds its throw site.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackTraceBenchmark {
+
+    @Param({"FULL", "LIMITED", "NONE", "CAPTURE_POLICY"})
+    private String mode;
+
+    @Param({"10", "100", "300"})
+    private int depth;
+
+    @Setup
+    public void setup() {
+        if (mode.equals("CAPTURE_POLICY")) {
+            ExSettings.setDefaultStackTrace(ExStackTrace.FULL);
+            ExSettings.setCapturePolicy(new ExCapturePolicy(1, Duration.ofHours(1)));
+        } else {
+            ExSettings.setDefaultStackTrace(ExStackTrace.valueOf(mode));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ExSettings.reset();
+    }
+
+    @Benchmark
+    public HttpEx notFound() {
+        return UserService.find(depth);
+    }
+}
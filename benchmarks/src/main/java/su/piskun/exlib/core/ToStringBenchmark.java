@@ -0,0 +1,61 @@
+package su.piskun.exlib.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the exception string representation.
+ * <p>
+ *     The exceptions are stackless to isolate the rendering.
+ *     Run with {@code -prof gc} to see the allocation rate per operation.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToStringBenchmark {
+
+    private final StringBuilder buffer = new StringBuilder(512);
+
+    @Setup
+    public void setup() {
+        ExSettings.setDefaultStackTrace(ExStackTrace.NONE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ExSettings.reset();
+    }
+
+    private static HttpEx exception() {
+        return HttpEx.notFound()
+            .message("user not found")
+            .context("userId", "42")
+            .build();
+    }
+
+    @Benchmark
+    public String toStringOnce() {
+        return exception().toString();
+    }
+
+    @Benchmark
+    public StringBuilder appendToReusedBuffer() {
+        buffer.setLength(0);
+        return exception().appendTo(buffer);
+    }
+}
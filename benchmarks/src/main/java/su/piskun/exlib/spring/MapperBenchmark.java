@@ -0,0 +1,85 @@
+package su.piskun.exlib.spring;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import su.piskun.exlib.core.HttpEx;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of turning an exception into a response body:
+ * {@code ExMapper.map} and the JSON serialization of {@code ExDto}, on a single thread and under contention.
+ * Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ExMapper mapper = new ExMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private HttpEx exception;
+    private Exception defaultException;
+    private ExDto dto;
+
+    @Setup
+    public void setup() {
+        exception = HttpEx.badRequest()
+            .message("invalid request")
+            .context("userId", 42)
+            .context("field", "email")
+            .stackless()
+            .build();
+        defaultException = new IllegalArgumentException("invalid request");
+        dto = mapper.map(exception);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ExDto map() {
+        return mapper.map(exception);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ExDto mapDefault() {
+        return mapper.map(defaultException);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapper.map(exception));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] mapAndSerializeContended() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapper.map(exception));
+    }
+}
@@ -0,0 +1,39 @@
+package su.piskun.exlib.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A millisecond-resolution clock that is updated by a background daemon thread.
+ */
+final class CachedClock implements ExClock {
+
+    static final CachedClock INSTANCE = new CachedClock();
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile long epochNanos = currentEpochNanos();
+
+    private CachedClock() {
+        final Thread ticker = new Thread(this::tick, "exlib-clock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    private static long currentEpochNanos() {
+        return System.currentTimeMillis() * NANOS_PER_MILLI;
+    }
+
+    private void tick() {
+        while (true) {
+            LockSupport.parkNanos(TICK_NANOS);
+            epochNanos = currentEpochNanos();
+        }
+    }
+
+    @Override
+    public long epochNanos() {
+        return epochNanos;
+    }
+}
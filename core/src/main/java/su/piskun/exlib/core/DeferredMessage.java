@@ -0,0 +1,45 @@
+package su.piskun.exlib.core;
+
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+
+/**
+ * A format string or an {@link ExTemplate} with its arguments that is formatted only when the message is requested.
+ */
+final class DeferredMessage {
+
+    private final String format;
+    private final ExTemplate template;
+    private final Object[] args;
+
+    DeferredMessage(final String format, final Object[] args) {
+        this.format = format;
+        this.template = null;
+        this.args = args;
+    }
+
+    DeferredMessage(final ExTemplate template, final Object[] args) {
+        this.format = null;
+        this.template = template;
+        this.args = args;
+    }
+
+    /**
+     * Renders the template, or formats the message by the {@link String#format(String, Object...)} method.
+     * <p>
+     *     Since the formatting happens far away from the place where an exception was created,
+     *     an invalid format string does not fail the caller (e.g. a logger).
+     *     The format string and the arguments are returned as is instead.
+     * </p>
+     */
+    String format() {
+        if (template != null) {
+            return template.render(args);
+        }
+        try {
+            return String.format(format, args);
+        } catch (IllegalFormatException e) {
+            return format + " " + Arrays.toString(args);
+        }
+    }
+}
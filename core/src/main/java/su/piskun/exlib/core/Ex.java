@@ -1,7 +1,11 @@
 package su.piskun.exlib.core;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,18 +17,100 @@ public class Ex extends RuntimeException {
 
     public static final String DEFAULT_CODE = "ERROR";
 
-    private final UUID id;
-    private final Instant timestamp;
+    private static final int TO_STRING_CAPACITY = 256;
+    private static final UUID NIL_ID = new UUID(0, 0);
+
+    /**
+     * The identifier is kept as two longs, the {@link UUID} object is created on demand.
+     * The longs are published by the volatile {@link #idGenerated} write, so a generated identifier
+     * is read without locking, and the nil UUID from a generator is not mistaken for a missing one
+     * (see {@link ExSettings#setLazyId(boolean)}).
+     */
+    private long idMostSigBits;
+    private long idLeastSigBits;
+    private volatile boolean idGenerated;
+    private final long timestamp;
     private final String code;
-    private final Map<String, Object> context;
+    private final ExContext context;
+    private final boolean limitedStackTrace;
+
+    /**
+     * Either a {@link String} or a {@link DeferredMessage} that is replaced by the formatted message on the first access.
+     * After the first {@link #toString()} call, it's a {@link Rendered} that caches the string representation too,
+     * so the cache does not take a field of its own. Constant exceptions keep a {@link Rendered} from the start.
+     * The races are benign since all the values are immutable.
+     */
+    private Object message;
 
     protected <T extends Builder<T>> Ex(final Builder<T> builder) {
-        super(builder.message, builder.cause);
+        this(builder, stackTraceOf(builder));
+    }
+
+    private <T extends Builder<T>> Ex(final Builder<T> builder, final ExStackTrace stackTrace) {
+        super(null, builder.cause, stackTrace != ExStackTrace.NONE, stackTrace != ExStackTrace.NONE);
+        if (stackTrace == ExStackTrace.FULL) {
+            super.fillInStackTrace();
+        } else if (stackTrace == ExStackTrace.LIMITED) {
+            super.setStackTrace(LimitedStackTrace.capture(ExSettings.getStackTraceDepth()));
+        }
 
-        this.id = UUID.randomUUID();
-        this.timestamp = Instant.now();
+        if (!ExSettings.isLazyId() && !builder.constant) {
+            generateId();
+        }
+        this.timestamp = ExSettings.getClock().epochNanos();
+        this.message = builder.constant ? constantMessageOf(builder) : messageOf(builder);
         this.code = Optional.ofNullable(builder.code).orElse(DEFAULT_CODE);
-        this.context = Optional.ofNullable(builder.context).map(HashMap::new).orElse(null);
+        this.context = builder.buildContext();
+        this.limitedStackTrace = stackTrace == ExStackTrace.LIMITED;
+
+        final ExMetrics metrics = ExSettings.getMetrics();
+        if (metrics != null) {
+            metrics.record(this.code, builder.status(), this.timestamp);
+        }
+
+        final ExSiteSampler siteSampler = ExSettings.getSiteSampler();
+        if (siteSampler != null) {
+            siteSampler.sample();
+        }
+
+        if (ExEventProbe.isAvailable() && ExCreatedEvent.isRecorded()) {
+            ExCreatedEvent.emit(getClass(), this.code, builder.status(), builder.constant);
+        }
+    }
+
+    private void generateId() {
+        final UUID id = ExSettings.getIdGenerator().generate();
+        this.idMostSigBits = id.getMostSignificantBits();
+        this.idLeastSigBits = id.getLeastSignificantBits();
+        this.idGenerated = true;
+    }
+
+    private static ExStackTrace stackTraceOf(final Builder<?> builder) {
+        if (builder.constant) {
+            return ExStackTrace.NONE;
+        }
+        if (builder.stackTrace != null) {
+            return builder.stackTrace;
+        }
+        final String code = builder.code != null ? builder.code : DEFAULT_CODE;
+        final ExStackTrace stackTrace = ExSettings.getStackTrace(code);
+        final ExCapturePolicy capturePolicy = ExSettings.getCapturePolicy();
+        return capturePolicy != null ? capturePolicy.apply(builder.getClass(), code, builder.status(), stackTrace) : stackTrace;
+    }
+
+    private static Object messageOf(final Builder<?> builder) {
+        if (builder.template != null) {
+            return new DeferredMessage(builder.template, builder.args);
+        }
+        return builder.args != null ? new DeferredMessage(builder.message, builder.args) : builder.message;
+    }
+
+    private static Rendered constantMessageOf(final Builder<?> builder) {
+        final Object message = messageOf(builder);
+        final String formatted = message instanceof DeferredMessage deferredMessage
+            ? deferredMessage.format()
+            : (String) message;
+        return new Rendered(formatted, null, true);
     }
 
     /**
@@ -59,20 +145,55 @@ public class Ex extends RuntimeException {
             .build();
     }
 
+    /**
+     * Factory method to quickly instantiate an exception for a given message template.
+     * @param template A precompiled message template.
+     * @param args A list of arguments to replace the template placeholders.
+     * @return An instance of {@link Ex} class.
+     */
+    public static Ex as(ExTemplate template, Object... args) {
+        return Ex.builder()
+            .message(template, args)
+            .build();
+    }
+
     /**
      * Returns an <i>automatically generated</i> {@link UUID} identifier.
+     * <p>
+     *     If the identifiers are generated lazily (see {@link ExSettings#setLazyId(boolean)}),
+     *     the identifier is generated on the first call.
+     * </p>
+     * <p>
+     *     Constant exceptions are shared, so they have no identifier of their own
+     *     and return the nil UUID ({@code 00000000-0000-0000-0000-000000000000}).
+     * </p>
      * @return Exception's unique ID.
      */
     public UUID getId() {
-        return id;
+        if (isConstant()) {
+            return NIL_ID;
+        }
+        ensureId();
+        return new UUID(idMostSigBits, idLeastSigBits);
+    }
+
+    private void ensureId() {
+        if (!idGenerated && !isConstant()) {
+            synchronized (this) {
+                if (!idGenerated) {
+                    generateId();
+                }
+            }
+        }
     }
 
     /**
      * Returns an <i>automatically generated</i> creation timestamp.
+     * For constant exceptions, it's the time when the constant was built.
      * @return Creation timestamp as {@link Instant}
      */
     public Instant getTimestamp() {
-        return timestamp;
+        return Instant.ofEpochSecond(0, timestamp);
     }
 
     /**
@@ -97,21 +218,95 @@ public class Ex extends RuntimeException {
      *     Contains the information that could be used for troubleshooting purposes.
      *     Also, it can be part of the API contract, so that a client can rely on the context to recover from an error.
      * </p>
-     * @return Exception context {@link Map}
+     * @return Exception context {@link Map} (an immutable {@link ExContext}), or {@code null} if there is no context.
      */
     public Map<String, Object> getContext() {
         return context;
     }
 
+    /**
+     * Returns the exception message.
+     * A format message is formatted on the first call, then the result is reused.
+     * @return the exception message.
+     */
+    @Override
+    public String getMessage() {
+        final Object message = this.message;
+        if (message instanceof Rendered rendered) {
+            return rendered.message();
+        }
+        if (message instanceof DeferredMessage deferredMessage) {
+            final String formatted = deferredMessage.format();
+            this.message = formatted;
+            return formatted;
+        }
+        return (String) message;
+    }
+
+    /**
+     * Whether this exception is a shared constant (see {@link Builder#constant()}).
+     * Constants have no identifier and their timestamp is the declaration time,
+     * so the ones that are reported to clients should get a fresh identifier and timestamp for every response.
+     * @return {@code true} if this exception is a constant.
+     */
+    public boolean isConstant() {
+        return message instanceof Rendered rendered && rendered.constant();
+    }
+
+    /**
+     * Constant exceptions are immutable, so their cause can't be initialized.
+     * @throws IllegalStateException if this exception is a constant, or the cause is initialized already.
+     */
+    @Override
+    public synchronized Throwable initCause(final Throwable cause) {
+        if (isConstant()) {
+            throw new IllegalStateException("Can't change the cause of a constant exception", this);
+        }
+        return super.initCause(cause);
+    }
+
+    /**
+     * The stack trace is filled by the constructor once the mode is known (see {@link ExStackTrace}),
+     * so it's a no-op while the exception is constructed and for the {@link ExStackTrace#LIMITED} exceptions,
+     * which would get the full stack otherwise.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (code == null || limitedStackTrace) {
+            return this;
+        }
+        return super.fillInStackTrace();
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        if (!isConstant()) {
+            this.message = getMessage();
+        }
+        out.defaultWriteObject();
+    }
+
     /**
      * Implementation of the builder pattern that provides flexible exception creation API.
      * @param <T> Generic type to support subclasses that is also based on the Builder pattern.
      */
     public static class Builder<T extends Builder<T>> {
+        private static final int DEFAULT_CONTEXT_CAPACITY = 4;
+
         private String code;
         private String message;
+        private ExTemplate template;
+        private Object[] args;
         private Throwable cause;
-        private Map<String, Object> context;
+
+        /**
+         * Context keys and values (see {@link ExContext}). The array is shared with the built exceptions,
+         * so it's copied before the next modification.
+         */
+        private Object[] context;
+        private int contextSize;
+        private boolean contextShared;
+        private ExStackTrace stackTrace;
+        private boolean constant;
 
         protected Builder() { }
 
@@ -132,18 +327,40 @@ public class Ex extends RuntimeException {
          */
         public T message(final String message) {
             this.message = message;
+            this.template = null;
+            this.args = null;
             return (T) this;
         }
 
         /**
          * Accepts a format message string with an array of arguments.
          * The formatting is performed by the {@link String#format(String, Object...)} method.
+         * <p>
+         *     The message is formatted lazily, on the first {@link Ex#getMessage()} call,
+         *     so the arguments should not be modified after the exception is created.
+         * </p>
          * @param message a format message string.
          * @param args an array of arguments to replace the placeholders in the format message string.
          * @return this builder instance.
          */
         public T message(final String message, final Object... args) {
-            this.message = args != null ? String.format(message, args) : message;
+            this.message = message;
+            this.template = null;
+            this.args = args;
+            return (T) this;
+        }
+
+        /**
+         * Accepts a precompiled message template with an array of arguments.
+         * The message is rendered lazily, on the first {@link Ex#getMessage()} call.
+         * @param template a precompiled message template.
+         * @param args an array of arguments to replace the template placeholders.
+         * @return this builder instance.
+         */
+        public T message(final ExTemplate template, final Object... args) {
+            this.message = null;
+            this.template = template;
+            this.args = args;
             return (T) this;
         }
 
@@ -166,7 +383,19 @@ public class Ex extends RuntimeException {
          * @return this builder instance.
          */
         public T context(final Map<String, Object> context) {
-            this.context = context;
+            if (context == null) {
+                this.context = null;
+                this.contextSize = 0;
+            } else {
+                this.context = new Object[Math.max(context.size(), DEFAULT_CONTEXT_CAPACITY) * 2];
+                this.contextSize = 0;
+                for (Map.Entry<String, Object> entry : context.entrySet()) {
+                    this.context[this.contextSize * 2] = entry.getKey();
+                    this.context[this.contextSize * 2 + 1] = entry.getValue();
+                    this.contextSize++;
+                }
+            }
+            this.contextShared = false;
             return (T) this;
         }
 
@@ -179,10 +408,83 @@ public class Ex extends RuntimeException {
          */
         public T context(final String key, final Object value) {
             if (this.context == null) {
-                this.context = new HashMap<>();
+                this.context = new Object[DEFAULT_CONTEXT_CAPACITY * 2];
+                this.contextShared = false;
+            }
+
+            final int position = ExContext.indexOf(this.context, this.contextSize, key);
+            if (position < 0 && this.contextSize * 2 == this.context.length) {
+                this.context = Arrays.copyOf(this.context, this.context.length * 2);
+                this.contextShared = false;
+            } else if (this.contextShared) {
+                this.context = this.context.clone();
+                this.contextShared = false;
+            }
+
+            if (position >= 0) {
+                this.context[position + 1] = value;
+            } else {
+                this.context[this.contextSize * 2] = key;
+                this.context[this.contextSize * 2 + 1] = value;
+                this.contextSize++;
+            }
+
+            return (T) this;
+        }
+
+        /**
+         * Returns the HTTP status of the exception being built, or 0 if it's not an HTTP one.
+         */
+        int status() {
+            return 0;
+        }
+
+        private ExContext buildContext() {
+            if (this.context == null) {
+                return null;
             }
-            this.context.put(key, value);
+            this.contextShared = true;
+            return new ExContext(this.context, this.contextSize);
+        }
 
+        /**
+         * Accepts the stack trace mode of this exception.
+         * It takes precedence over the modes defined in {@link ExSettings}.
+         * @param stackTrace a stack trace mode, or {@code null} to use the one defined in {@link ExSettings}.
+         * @return this builder instance.
+         */
+        public T stackTrace(final ExStackTrace stackTrace) {
+            this.stackTrace = stackTrace;
+            return (T) this;
+        }
+
+        /**
+         * Disables the stack trace capturing and suppressed exceptions for this exception.
+         * The same as {@code stackTrace(ExStackTrace.NONE)}.
+         * @return this builder instance.
+         */
+        public T stackless() {
+            return stackTrace(ExStackTrace.NONE);
+        }
+
+        /**
+         * Makes the exception a constant that is built once and thrown many times, e.g. on the hot control-flow paths:
+         * <pre>{@code
+         * private static final HttpEx RESOURCE_NOT_FOUND = HttpEx.notFound()
+         *     .message("resource not found")
+         *     .constant()
+         *     .build();
+         * }</pre>
+         * <p>
+         *     Constants are stackless, the message is formatted right away, and throwing them allocates nothing.
+         *     Since a constant is shared between threads, it's frozen:
+         *     the identifier is the nil UUID, the timestamp is the declaration time,
+         *     {@link Throwable#addSuppressed(Throwable)} is ignored and {@link Throwable#initCause(Throwable)} fails.
+         * </p>
+         * @return this builder instance.
+         */
+        public T constant() {
+            this.constant = true;
             return (T) this;
         }
 
@@ -195,13 +497,106 @@ public class Ex extends RuntimeException {
         }
     }
 
+    /**
+     * Appends the {@link #toString()} representation of this exception to a given builder.
+     * @param builder a builder to append to.
+     * @return the same builder.
+     */
+    public final StringBuilder appendTo(final StringBuilder builder) {
+        try {
+            appendTo((Appendable) builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the {@link #toString()} representation of this exception to a given {@link Appendable}
+     * (e.g. a reusable buffer of a logger or an encoder).
+     * <p>
+     *     The fields are written one by one, so no intermediate strings are created
+     *     for the identifier and the timestamp.
+     * </p>
+     * @param out an {@link Appendable} to append to.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    public final void appendTo(final Appendable out) throws IOException {
+        if (this.message instanceof Rendered rendered && rendered.string() != null) {
+            out.append(rendered.string());
+        } else {
+            appendFields(out);
+        }
+    }
+
+    /**
+     * Writes the {@link #toString()} representation of this exception.
+     * Subclasses that add fields to the representation override this method instead of {@link #toString()}.
+     * @param out an {@link Appendable} to append to.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    protected void appendFields(final Appendable out) throws IOException {
+        ensureId();
+        out.append("BaseException{id=");
+        ExFormat.appendUuid(out, idMostSigBits, idLeastSigBits);
+        out.append(", timestamp=");
+        ExFormat.appendInstant(out, timestamp);
+        out.append(", code='").append(code).append('\'');
+        out.append(", context=");
+        ExFormat.appendMap(out, context);
+        out.append("} ").append(getClass().getName());
+        final String message = getLocalizedMessage();
+        if (message != null) {
+            out.append(": ").append(message);
+        }
+    }
+
+    /**
+     * Appends this exception as a JSON object with the class, the identifier, the timestamp, the code,
+     * the message, the context and the causes (see {@link ExJson}).
+     * @param out an {@link Appendable} to append to.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    public final void appendJsonTo(final Appendable out) throws IOException {
+        out.append('{');
+        appendJsonFields(out);
+        ExJson.appendCauses(out, this);
+        out.append('}');
+    }
+
+    /**
+     * Writes the fields of the JSON representation, separated by commas.
+     * Subclasses that add fields to the representation override this method and append them after the super ones.
+     * @param out an {@link Appendable} to append to.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    protected void appendJsonFields(final Appendable out) throws IOException {
+        ensureId();
+        ExJson.appendThrowable(out, this);
+        out.append(",\"id\":\"");
+        ExFormat.appendUuid(out, idMostSigBits, idLeastSigBits);
+        out.append("\",\"timestamp\":\"");
+        ExFormat.appendInstant(out, timestamp);
+        out.append("\",\"code\":");
+        ExJson.appendString(out, code);
+        out.append(",\"context\":");
+        ExJson.appendMap(out, context);
+    }
+
     @Override
     public String toString() {
-        return "BaseException{" +
-            "id=" + id +
-            ", timestamp=" + timestamp +
-            ", code='" + code + '\'' +
-            ", context=" + context +
-            "} " + super.toString();
+        if (this.message instanceof Rendered rendered && rendered.string() != null) {
+            return rendered.string();
+        }
+        final String message = getMessage();
+        final String string = appendTo(new StringBuilder(TO_STRING_CAPACITY)).toString();
+        this.message = new Rendered(message, string, isConstant());
+        return string;
     }
+
+    /**
+     * The formatted message along with the cached {@link #toString()} result (if it's built already)
+     * and the constant flag.
+     */
+    private record Rendered(String message, String string, boolean constant) implements Serializable { }
 }
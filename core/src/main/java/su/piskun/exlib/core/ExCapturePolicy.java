@@ -0,0 +1,148 @@
+package su.piskun.exlib.core;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Captures the stack traces of only the first occurrences of every failure per time window.
+ * <p>
+ *     The policy is opt-in, it's enabled by {@link ExSettings#setCapturePolicy(ExCapturePolicy)}:
+ * </p>
+ * <pre>{@code
+ * // The first 10 stack traces per failure per minute.
+ * ExSettings.setCapturePolicy(new ExCapturePolicy(10, Duration.ofMinutes(1)));
+ * }</pre>
+ * <p>
+ *     A failure is identified in two steps, so the common case does not walk the stack:
+ * </p>
+ * <ul>
+ *     <li>first by a fingerprint of the exception type (by its builder class), the error code and the HTTP status,
+ *     which is computed without a stack walk;</li>
+ *     <li>once that fingerprint has all its captures in the window, by the fingerprint along with the throw site,
+ *     which is found by a short stack walk. The walk costs more than a stack trace,
+ *     so only one of {@value #SITE_SAMPLE_RATE} such exceptions looks for its site.</li>
+ * </ul>
+ * <p>
+ *     So a new throw site gets its stack traces even during a storm of the same type, code and status elsewhere,
+ *     after {@value #SITE_SAMPLE_RATE} occurrences on average, while the site of the storm is created stackless until the next window.
+ *     The first site of a failure may get up to twice {@code maxCaptures}: by the failure, then by the site.
+ *     The policy applies to the default stack traces only
+ *     (see {@link ExSettings#setStackTrace(String, ExStackTrace)}),
+ *     the ones that are set by {@link Ex.Builder#stackTrace(ExStackTrace)} are always captured.
+ * </p>
+ * <p>
+ *     The fingerprints are kept in a fixed-size lock-free table, every slot holds a part of the fingerprint,
+ *     the window and the count in a single {@code long} that is updated by compare-and-set.
+ *     The failures that share a slot evict each other, so they may capture more stack traces, but never less.
+ * </p>
+ */
+public final class ExCapturePolicy {
+
+    /**
+     * The maximum number of captures per window.
+     */
+    public static final int MAX_CAPTURES = 0xFFFF;
+
+    /**
+     * One of this many exceptions of an exhausted failure looks for its throw site.
+     */
+    public static final int SITE_SAMPLE_RATE = 16;
+
+    static final int SLOTS = 4096;
+
+    private static final int FINGERPRINT_SHIFT = 32;
+    private static final int WINDOW_SHIFT = 16;
+    private static final long WINDOW_MASK = 0xFFFF;
+    private static final long COUNT_MASK = 0xFFFF;
+
+    private final int maxCaptures;
+    private final long windowNanos;
+    private final int siteSampleRate;
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+
+    /**
+     * @param maxCaptures the number of stack traces to capture per failure per window, up to {@value #MAX_CAPTURES}.
+     * @param window the time window.
+     */
+    public ExCapturePolicy(final int maxCaptures, final Duration window) {
+        this(maxCaptures, window, SITE_SAMPLE_RATE);
+    }
+
+    ExCapturePolicy(final int maxCaptures, final Duration window, final int siteSampleRate) {
+        if (maxCaptures < 0 || maxCaptures > MAX_CAPTURES) {
+            throw new IllegalArgumentException("Max captures must be from 0 to " + MAX_CAPTURES + ": " + maxCaptures);
+        }
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.maxCaptures = maxCaptures;
+        this.windowNanos = window.toNanos();
+        this.siteSampleRate = siteSampleRate;
+    }
+
+    /**
+     * Returns the stack trace of an exception that is being created.
+     * @param type the exception type, i.e. the class of its builder.
+     * @param code the error code.
+     * @param status the HTTP status, or 0 if it's not an HTTP exception.
+     * @param stackTrace the default stack trace of the code.
+     * @return the same stack trace, or {@link ExStackTrace#NONE} if enough stack traces are captured.
+     */
+    ExStackTrace apply(final Class<?> type, final String code, final int status, final ExStackTrace stackTrace) {
+        if (stackTrace == ExStackTrace.NONE) {
+            return stackTrace;
+        }
+        final int fingerprint = fingerprint(type, code, status);
+        final long window = ExSettings.getClock().epochNanos() / windowNanos;
+        if (capture(fingerprint, window)) {
+            return stackTrace;
+        }
+        if (ThreadLocalRandom.current().nextInt(siteSampleRate) != 0) {
+            return ExStackTrace.NONE;
+        }
+        final StackWalker.StackFrame site = ThrowSites.find();
+        return site != null && capture(fingerprint(fingerprint, site), window) ? stackTrace : ExStackTrace.NONE;
+    }
+
+    static int fingerprint(final Class<?> type, final String code, final int status) {
+        int hash = type.getName().hashCode();
+        hash = hash * 31 + code.hashCode();
+        hash = hash * 31 + status;
+        return spread(hash);
+    }
+
+    static int fingerprint(final int fingerprint, final StackWalker.StackFrame site) {
+        int hash = fingerprint;
+        hash = hash * 31 + site.getClassName().hashCode();
+        hash = hash * 31 + site.getMethodName().hashCode();
+        hash = hash * 31 + site.getByteCodeIndex();
+        return spread(hash);
+    }
+
+    /**
+     * Spreads the higher bits, since the lower ones select the slot.
+     */
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16) ^ (hash >>> 8);
+    }
+
+    /**
+     * Counts a capture of a fingerprint in a window.
+     * @return {@code false} if the fingerprint has all its captures in the window.
+     */
+    boolean capture(final int fingerprint, final long window) {
+        final int slot = fingerprint & (SLOTS - 1);
+        final long key = ((long) fingerprint << FINGERPRINT_SHIFT) | ((window & WINDOW_MASK) << WINDOW_SHIFT);
+        while (true) {
+            final long current = slots.get(slot);
+            final long count = (current & ~COUNT_MASK) == key ? current & COUNT_MASK : 0;
+            if (count >= maxCaptures) {
+                return false;
+            }
+            if (slots.compareAndSet(slot, current, key | (count + 1))) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package su.piskun.exlib.core;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * The source of the exception timestamps.
+ * <p>
+ *     The clock is configured by {@link ExSettings#setClock(ExClock)}.
+ *     Implementations must be thread-safe and fast, since they are called on every exception.
+ * </p>
+ */
+@FunctionalInterface
+public interface ExClock {
+
+    /**
+     * Returns the current time.
+     * @return the number of nanoseconds since the epoch (1970-01-01T00:00:00Z).
+     */
+    long epochNanos();
+
+    /**
+     * Returns the current time as {@link Instant}.
+     * @return the current {@link Instant}.
+     */
+    default Instant instant() {
+        return Instant.ofEpochSecond(0, epochNanos());
+    }
+
+    /**
+     * The system clock with the best available precision. It's the default clock.
+     * @return an instance of {@link ExClock}.
+     */
+    static ExClock system() {
+        return SystemClock.INSTANCE;
+    }
+
+    /**
+     * A millisecond-resolution clock that returns a value cached by a background ticker thread.
+     * <p>
+     *     Reading the clock costs a single volatile read.
+     *     The ticker is a daemon thread that is started on the first call of this method.
+     * </p>
+     * @return an instance of {@link ExClock}.
+     */
+    static ExClock cached() {
+        return CachedClock.INSTANCE;
+    }
+
+    /**
+     * A clock that always returns the same instant. Useful for tests.
+     * @param instant the instant to return.
+     * @return an instance of {@link ExClock}.
+     */
+    static ExClock fixed(final Instant instant) {
+        Objects.requireNonNull(instant, "instant");
+        final long epochNanos = SystemClock.epochNanos(instant);
+        return () -> epochNanos;
+    }
+}
@@ -0,0 +1,183 @@
+package su.piskun.exlib.core;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable, array-backed exception context.
+ * <p>
+ *     Exception contexts usually hold a few entries, so the keys and the values are kept in a single array
+ *     in the insertion order, and the lookup is a linear scan.
+ *     Contexts with more than {@value #LINEAR_SCAN_LIMIT} entries get an open addressing index with linear probing.
+ * </p>
+ * <p>
+ *     Instances are immutable and thread-safe, so they are shared by reference (e.g. by the Spring DTOs)
+ *     instead of being copied. {@code null} keys and values are allowed.
+ * </p>
+ */
+public final class ExContext extends AbstractMap<String, Object> implements Serializable {
+
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    /**
+     * Keys and values: {@code [key0, value0, key1, value1, ...]}. The array can be longer than needed.
+     */
+    private final Object[] entries;
+    private final int size;
+
+    /**
+     * Positions of the entries plus one, or zero for the empty slots. It's {@code null} for the small contexts.
+     */
+    private final int[] index;
+
+    private transient Set<Entry<String, Object>> entrySet;
+
+    ExContext(final Object[] entries, final int size) {
+        this.entries = entries;
+        this.size = size;
+        this.index = size > LINEAR_SCAN_LIMIT ? index(entries, size) : null;
+    }
+
+    /**
+     * Returns an immutable copy of a given map, or the same instance if it's an {@link ExContext} already.
+     * @param map a map to copy.
+     * @return an instance of {@link ExContext}.
+     */
+    public static ExContext copyOf(final Map<String, ?> map) {
+        if (map instanceof ExContext context) {
+            return context;
+        }
+
+        final Object[] entries = new Object[map.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            entries[i++] = entry.getKey();
+            entries[i++] = entry.getValue();
+        }
+        return new ExContext(entries, i / 2);
+    }
+
+    /**
+     * Returns the position of a key in an entries array, or -1 if there is no such key.
+     */
+    static int indexOf(final Object[] entries, final int size, final Object key) {
+        for (int i = 0; i < size * 2; i += 2) {
+            if (Objects.equals(entries[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] index(final Object[] entries, final int size) {
+        final int[] index = new int[Integer.highestOneBit(size * 4 - 1)];
+        final int mask = index.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(entries[i * 2]) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+        return index;
+    }
+
+    private static int hash(final Object key) {
+        final int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private int position(final Object key) {
+        if (index == null) {
+            return indexOf(entries, size, key);
+        }
+
+        final int mask = index.length - 1;
+        int slot = hash(key) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0) {
+            final int position = (entry - 1) * 2;
+            if (Objects.equals(entries[position], key)) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return position(key) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int position = position(key);
+        return position >= 0 ? entries[position + 1] : null;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < size * 2; i += 2) {
+            action.accept((String) entries[i], entries[i + 1]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+            this.entrySet = entrySet;
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new Iterator<>() {
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return position < size * 2;
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final Entry<String, Object> entry =
+                        new SimpleImmutableEntry<>((String) entries[position], entries[position + 1]);
+                    position += 2;
+                    return entry;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package su.piskun.exlib.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event of the {@link Ex} construction.
+ * <p>
+ *     The event is disabled by default, it's enabled in a recording by the {@value #NAME} settings, e.g.
+ *     {@code jfr configure +su.piskun.exlib.ExCreated#enabled=true}.
+ *     The stack trace of the event is disabled by default as well, since it costs as much as a stack trace
+ *     of the exception, and it's enabled by the {@code stackTrace} setting.
+ * </p>
+ */
+@Name(ExCreatedEvent.NAME)
+@Label("Exception Created")
+@Description("Construction of an exlib exception")
+@Category("exlib")
+@Enabled(false)
+@StackTrace(false)
+public final class ExCreatedEvent extends Event {
+
+    public static final String NAME = "su.piskun.exlib.ExCreated";
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Code")
+    String code;
+
+    @Label("HTTP Status")
+    @Description("HTTP status code, or 0 for non-HTTP exceptions")
+    int status;
+
+    @Label("Constant")
+    boolean constant;
+
+    private static final ExEventProbe PROBE = new ExEventProbe(ExCreatedEvent.class);
+
+    ExCreatedEvent() {}
+
+    /**
+     * Whether the event is enabled in a running recording, see {@link ExEventProbe}.
+     */
+    static boolean isRecorded() {
+        return PROBE.isRecorded();
+    }
+
+    /**
+     * Commits an event of an exception construction.
+     */
+    static void emit(final Class<?> exceptionClass, final String code, final int status, final boolean constant) {
+        final ExCreatedEvent event = new ExCreatedEvent();
+        event.exceptionClass = exceptionClass;
+        event.code = code;
+        event.status = status;
+        event.constant = constant;
+        event.commit();
+    }
+}
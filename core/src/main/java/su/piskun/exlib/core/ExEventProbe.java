@@ -0,0 +1,53 @@
+package su.piskun.exlib.core;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Tells whether a Java Flight Recorder event is enabled in a running recording. Unlike {@link Event#isEnabled()},
+ * it does not need an event instance, so a disabled event costs a couple of field reads.
+ * <p>
+ *     The {@code jdk.jfr} module is optional, e.g. a jlinked runtime may not include it.
+ *     The event classes can't be loaded without it, so they must only be touched if {@link #isAvailable()}.
+ * </p>
+ */
+public final class ExEventProbe {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private final Class<? extends Event> eventClass;
+    private volatile EventType type;
+
+    /**
+     * @param eventClass the class of the event.
+     */
+    public ExEventProbe(final Class<? extends Event> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    /**
+     * Returns whether the {@code jdk.jfr} module is in the runtime.
+     * @return {@code true} if the events can be recorded.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Returns whether the event is enabled in a running recording.
+     * The event type is looked up only once the recorder is initialized, since the lookup initializes it.
+     * @return {@code true} if the event is recorded.
+     */
+    public boolean isRecorded() {
+        if (!FlightRecorder.isInitialized()) {
+            return false;
+        }
+        EventType eventType = this.type;
+        if (eventType == null) {
+            eventType = EventType.getEventType(this.eventClass);
+            this.type = eventType;
+        }
+        return eventType.isEnabled();
+    }
+}
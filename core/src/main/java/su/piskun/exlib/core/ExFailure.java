@@ -0,0 +1,176 @@
+package su.piskun.exlib.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable description of an expected failure that is turned into an {@link Ex} only when needed
+ * (see {@link ExResult}).
+ * <p>
+ *     Creating a failure is as cheap as creating a small object: there is no identifier, timestamp or stack trace,
+ *     and a template message is rendered only when it's requested.
+ * </p>
+ */
+public final class ExFailure {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String code;
+    private final int status;
+    private final String message;
+    private final ExTemplate template;
+    private final Object[] args;
+
+    /**
+     * Context keys and values (see {@link ExContext}), or {@code null} if there is no context.
+     */
+    private final Object[] context;
+
+    private ExFailure(final String code, final int status, final String message, final ExTemplate template,
+                      final Object[] args, final Object[] context) {
+        this.code = code;
+        this.status = status;
+        this.message = message;
+        this.template = template;
+        this.args = args;
+        this.context = context;
+    }
+
+    /**
+     * Creates a failure for a given error code and message.
+     * @param code an error code.
+     * @param message an error message.
+     * @return an instance of {@link ExFailure}.
+     */
+    public static ExFailure of(final String code, final String message) {
+        return new ExFailure(code, 0, message, null, NO_ARGS, null);
+    }
+
+    /**
+     * Creates a failure for a given error code and message template.
+     * @param code an error code.
+     * @param template a precompiled message template.
+     * @param args an array of arguments to replace the template placeholders.
+     * @return an instance of {@link ExFailure}.
+     */
+    public static ExFailure of(final String code, final ExTemplate template, final Object... args) {
+        return new ExFailure(code, 0, null, Objects.requireNonNull(template, "template"), args, null);
+    }
+
+    /**
+     * Creates a failure for a given HTTP error status and message.
+     * The error code is the default one for the status (see {@link HttpExStatus#getDefaultCode()}).
+     * @param status an HTTP error status from 400 to 599.
+     * @param message an error message.
+     * @return an instance of {@link ExFailure}.
+     */
+    public static ExFailure http(final int status, final String message) {
+        return new ExFailure(HttpExStatus.of(status).getDefaultCode(), status, message, null, NO_ARGS, null);
+    }
+
+    /**
+     * Creates a failure for a given HTTP error status and message template.
+     * The error code is the default one for the status (see {@link HttpExStatus#getDefaultCode()}).
+     * @param status an HTTP error status from 400 to 599.
+     * @param template a precompiled message template.
+     * @param args an array of arguments to replace the template placeholders.
+     * @return an instance of {@link ExFailure}.
+     */
+    public static ExFailure http(final int status, final ExTemplate template, final Object... args) {
+        return new ExFailure(
+            HttpExStatus.of(status).getDefaultCode(), status, null, Objects.requireNonNull(template, "template"), args, null);
+    }
+
+    /**
+     * Returns a copy of this failure with a given error code.
+     * @param code an error code.
+     * @return a new instance of {@link ExFailure}.
+     */
+    public ExFailure code(final String code) {
+        return new ExFailure(code, status, message, template, args, context);
+    }
+
+    /**
+     * Returns a copy of this failure with a key-value pair added to the context.
+     * @param key {@link String} key.
+     * @param value {@link Object} value.
+     * @return a new instance of {@link ExFailure}.
+     */
+    public ExFailure context(final String key, final Object value) {
+        final int size = context != null ? context.length / 2 : 0;
+        final int position = context != null ? ExContext.indexOf(context, size, key) : -1;
+        final Object[] entries;
+        if (position >= 0) {
+            entries = context.clone();
+            entries[position + 1] = value;
+        } else {
+            entries = context != null ? Arrays.copyOf(context, context.length + 2) : new Object[2];
+            entries[size * 2] = key;
+            entries[size * 2 + 1] = value;
+        }
+        return new ExFailure(code, status, message, template, args, entries);
+    }
+
+    /**
+     * Returns the error code.
+     * @return an error code, or {@link Ex#DEFAULT_CODE} if it's not defined.
+     */
+    public String getCode() {
+        return code != null ? code : Ex.DEFAULT_CODE;
+    }
+
+    /**
+     * Returns the HTTP error status.
+     * @return an HTTP error status, or 0 if this failure is not an HTTP one.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the error message. A template message is rendered on every call.
+     * @return the error message.
+     */
+    public String getMessage() {
+        return template != null ? template.render(args) : message;
+    }
+
+    /**
+     * Returns the failure context.
+     * @return an immutable {@link ExContext}, or {@code null} if there is no context.
+     */
+    public ExContext getContext() {
+        return context != null ? new ExContext(context, context.length / 2) : null;
+    }
+
+    /**
+     * Builds an exception for this failure: an {@link HttpEx} for the HTTP failures, or an {@link Ex} otherwise.
+     * The template message is rendered lazily, as usual.
+     * @return a new instance of {@link Ex}.
+     */
+    public Ex toEx() {
+        final Ex.Builder<?> builder = status != 0 ? HttpEx.of(status) : Ex.builder();
+        if (template != null) {
+            builder.message(template, args);
+        } else {
+            builder.message(message);
+        }
+        if (code != null) {
+            builder.code(code);
+        }
+        if (context != null) {
+            builder.context(getContext());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "ExFailure{" +
+            "code='" + getCode() + '\'' +
+            ", status=" + status +
+            ", message='" + getMessage() + '\'' +
+            ", context=" + getContext() +
+            '}';
+    }
+}
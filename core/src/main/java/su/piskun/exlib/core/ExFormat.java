@@ -0,0 +1,140 @@
+package su.piskun.exlib.core;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes the exception fields straight into an {@link Appendable} without creating intermediate strings.
+ * The output is the same as the one of {@link java.util.UUID#toString()}, {@link java.time.Instant#toString()}, etc.
+ */
+final class ExFormat {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int DAYS_PER_ERA = 146_097;
+    private static final int DAYS_FROM_YEAR_ZERO_TO_EPOCH = 719_468;
+
+    private ExFormat() {}
+
+    /**
+     * Appends a UUID in the {@code xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx} format.
+     */
+    static void appendUuid(final Appendable out, final long mostSigBits, final long leastSigBits) throws IOException {
+        appendHex(out, mostSigBits >>> 32, 8);
+        out.append('-');
+        appendHex(out, mostSigBits >>> 16, 4);
+        out.append('-');
+        appendHex(out, mostSigBits, 4);
+        out.append('-');
+        appendHex(out, leastSigBits >>> 48, 4);
+        out.append('-');
+        appendHex(out, leastSigBits, 12);
+    }
+
+    private static void appendHex(final Appendable out, final long value, final int digits) throws IOException {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    /**
+     * Appends an instant in the ISO-8601 format (e.g. {@code 2022-08-02T16:20:51.724925378Z}).
+     * Only the instants from 1970 to 2262 are supported, since it's the range of the epoch nanoseconds.
+     */
+    static void appendInstant(final Appendable out, final long epochNanos) throws IOException {
+        final long epochSecond = Math.floorDiv(epochNanos, NANOS_PER_SECOND);
+        final int nano = (int) Math.floorMod(epochNanos, NANOS_PER_SECOND);
+        final long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        final int secondOfDay = Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        // The civil calendar date from the epoch day (H. Hinnant's algorithm).
+        final long days = epochDay + DAYS_FROM_YEAR_ZERO_TO_EPOCH;
+        final long era = Math.floorDiv(days, DAYS_PER_ERA);
+        final int dayOfEra = (int) (days - era * DAYS_PER_ERA);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        final int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        appendPadded(out, (int) year, 4);
+        out.append('-');
+        appendPadded(out, month, 2);
+        out.append('-');
+        appendPadded(out, day, 2);
+        out.append('T');
+        appendPadded(out, secondOfDay / 3600, 2);
+        out.append(':');
+        appendPadded(out, secondOfDay / 60 % 60, 2);
+        out.append(':');
+        appendPadded(out, secondOfDay % 60, 2);
+        if (nano > 0) {
+            out.append('.');
+            if (nano % 1_000_000 == 0) {
+                appendPadded(out, nano / 1_000_000, 3);
+            } else if (nano % 1000 == 0) {
+                appendPadded(out, nano / 1000, 6);
+            } else {
+                appendPadded(out, nano, 9);
+            }
+        }
+        out.append('Z');
+    }
+
+    /**
+     * Appends a non-negative integer.
+     */
+    static void appendInt(final Appendable out, final int value) throws IOException {
+        int digits = 1;
+        for (int i = value; i >= 10; i /= 10) {
+            digits++;
+        }
+        appendPadded(out, value, digits);
+    }
+
+    private static void appendPadded(final Appendable out, final int value, final int digits) throws IOException {
+        int divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Appends a map in the {@link java.util.AbstractMap#toString()} format.
+     */
+    static void appendMap(final Appendable out, final Map<?, ?> map) throws IOException {
+        if (map == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.append(", ");
+            }
+            first = false;
+            appendValue(out, map, entry.getKey());
+            out.append('=');
+            appendValue(out, map, entry.getValue());
+        }
+        out.append('}');
+    }
+
+    private static void appendValue(final Appendable out, final Map<?, ?> map, final Object value) throws IOException {
+        if (value == map) {
+            out.append("(this Map)");
+        } else if (value instanceof CharSequence sequence) {
+            out.append(sequence);
+        } else {
+            out.append(String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package su.piskun.exlib.core;
+
+import java.util.UUID;
+
+/**
+ * Generates the unique identifiers of exceptions.
+ * <p>
+ *     The generator is configured by {@link ExSettings#setIdGenerator(ExIdGenerator)}.
+ *     Implementations must be thread-safe and should not block, since they are called on every exception.
+ * </p>
+ */
+@FunctionalInterface
+public interface ExIdGenerator {
+
+    /**
+     * Generates a new identifier.
+     * @return a unique {@link UUID}.
+     */
+    UUID generate();
+
+    /**
+     * Random (version 4) UUIDs that are generated by the {@link UUID#randomUUID()} method.
+     * <p>
+     *     It relies on a shared {@link java.security.SecureRandom} instance,
+     *     so it becomes a point of contention when many threads create exceptions at the same time.
+     * </p>
+     * @return an instance of {@link ExIdGenerator}.
+     */
+    static ExIdGenerator secureRandom() {
+        return UUID::randomUUID;
+    }
+
+    /**
+     * Random (version 4) UUIDs that are generated by the {@link java.util.concurrent.ThreadLocalRandom}.
+     * <p>
+     *     It's the default generator: there is no contention between threads,
+     *     but the identifiers must not be used as secrets.
+     * </p>
+     * @return an instance of {@link ExIdGenerator}.
+     */
+    static ExIdGenerator random() {
+        return RandomIdGenerator.INSTANCE;
+    }
+
+    /**
+     * Time-ordered (version 7) UUIDs: a millisecond Unix timestamp followed by random bits.
+     * <p>
+     *     The identifiers are sortable by the creation time, that makes them index-friendly.
+     * </p>
+     * @return an instance of {@link ExIdGenerator}.
+     */
+    static ExIdGenerator timeOrdered() {
+        return TimeOrderedIdGenerator.INSTANCE;
+    }
+
+    /**
+     * Sequential identifiers: a random node prefix that is chosen on the class initialization, followed by a counter.
+     * @return an instance of {@link ExIdGenerator}.
+     * @see #sequential(long)
+     */
+    static ExIdGenerator sequential() {
+        return SequentialIdGenerator.INSTANCE;
+    }
+
+    /**
+     * Sequential identifiers: a given node prefix followed by a counter.
+     * <p>
+     *     Every thread reserves a block of values from a shared counter,
+     *     so the threads rarely touch the same memory. As a result, the identifiers are unique
+     *     but not strictly ordered across threads. The UUID version is set to 8 (custom).
+     * </p>
+     * @param node a node prefix (e.g. derived from the host name), only the lowest 60 bits are used.
+     * @return an instance of {@link ExIdGenerator}.
+     */
+    static ExIdGenerator sequential(final long node) {
+        return new SequentialIdGenerator(node);
+    }
+}
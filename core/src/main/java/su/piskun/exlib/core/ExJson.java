@@ -0,0 +1,231 @@
+package su.piskun.exlib.core;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes exceptions as JSON objects straight into an {@link Appendable} (e.g. the buffer of a log encoder),
+ * without creating intermediate strings for the fields:
+ * <pre>{@code
+ * {"class":"su.piskun.exlib.core.HttpEx","id":"...","timestamp":"2022-08-02T16:20:51.724925378Z",
+ *  "code":"CLIENT_ERROR","message":"user not found","context":{"userId":42},"status":404,
+ *  "causes":[{"class":"java.io.IOException","message":"connection reset"}]}
+ * }</pre>
+ * <p>
+ *     {@link Ex} instances write all their fields (see {@link Ex#appendJsonTo(Appendable)}),
+ *     other throwables write their class, message and causes only.
+ *     The context values that are numbers, booleans or maps keep their JSON types, the rest are written as strings.
+ *     A map that contains one of its enclosing maps is written as {@code "(this Map)"},
+ *     and the maps nested deeper than {@value #MAX_DEPTH} levels as {@code "(nested Map)"}.
+ * </p>
+ */
+public final class ExJson {
+
+    private static final int MAX_CAUSES = 16;
+    private static final int MAX_DEPTH = 8;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ExJson() {}
+
+    /**
+     * Appends a throwable as a JSON object.
+     * @param out an {@link Appendable} to append to.
+     * @param throwable a throwable to write.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    public static void append(final Appendable out, final Throwable throwable) throws IOException {
+        if (throwable instanceof Ex ex) {
+            ex.appendJsonTo(out);
+            return;
+        }
+        out.append('{');
+        appendThrowable(out, throwable);
+        appendCauses(out, throwable);
+        out.append('}');
+    }
+
+    /**
+     * Appends a timestamp as a quoted ISO-8601 string (e.g. {@code "2022-08-02T16:20:51.724925378Z"}).
+     * @param out an {@link Appendable} to append to.
+     * @param epochNanos the number of nanoseconds since the epoch.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    public static void appendTimestamp(final Appendable out, final long epochNanos) throws IOException {
+        out.append('"');
+        ExFormat.appendInstant(out, epochNanos);
+        out.append('"');
+    }
+
+    /**
+     * Appends an integer.
+     * @param out an {@link Appendable} to append to.
+     * @param value an integer to write.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    public static void appendInt(final Appendable out, final int value) throws IOException {
+        if (value < 0) {
+            out.append(Integer.toString(value));
+        } else {
+            ExFormat.appendInt(out, value);
+        }
+    }
+
+    /**
+     * Appends a UUID as a quoted string, or {@code null}.
+     * @param out an {@link Appendable} to append to.
+     * @param uuid a UUID to write.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    public static void appendUuid(final Appendable out, final UUID uuid) throws IOException {
+        if (uuid == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        ExFormat.appendUuid(out, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        out.append('"');
+    }
+
+    /**
+     * Appends the {@code "class"} and the {@code "message"} fields of a throwable.
+     */
+    static void appendThrowable(final Appendable out, final Throwable throwable) throws IOException {
+        out.append("\"class\":");
+        appendString(out, throwable.getClass().getName());
+        final String message = throwable.getMessage();
+        if (message != null) {
+            out.append(",\"message\":");
+            appendString(out, message);
+        }
+    }
+
+    /**
+     * Appends the {@code "causes"} field with the causes of a throwable, if there are any.
+     */
+    static void appendCauses(final Appendable out, final Throwable throwable) throws IOException {
+        Throwable cause = throwable.getCause();
+        if (cause == null || cause == throwable) {
+            return;
+        }
+        out.append(",\"causes\":[");
+        for (int i = 0; i < MAX_CAUSES && cause != null; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append('{');
+            appendThrowable(out, cause);
+            out.append('}');
+            final Throwable next = cause.getCause();
+            cause = next != cause ? next : null;
+        }
+        out.append(']');
+    }
+
+    /**
+     * Appends a quoted and escaped JSON string, or {@code null}.
+     * @param out an {@link Appendable} to append to.
+     * @param value a string to write.
+     * @throws IOException if the {@link Appendable} fails.
+     */
+    public static void appendString(final Appendable out, final CharSequence value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Appends a map as a JSON object, or {@code null}.
+     */
+    static void appendMap(final Appendable out, final Map<?, ?> map) throws IOException {
+        if (map == null) {
+            out.append("null");
+            return;
+        }
+        appendMap(out, map, null, 0);
+    }
+
+    private static void appendMap(
+        final Appendable out,
+        final Map<?, ?> map,
+        final Enclosing enclosing,
+        final int depth
+    ) throws IOException {
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            appendString(out, String.valueOf(entry.getKey()));
+            out.append(':');
+            appendValue(out, map, enclosing, depth, entry.getValue());
+        }
+        out.append('}');
+    }
+
+    private static void appendValue(
+        final Appendable out,
+        final Map<?, ?> map,
+        final Enclosing enclosing,
+        final int depth,
+        final Object value
+    ) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+            || value instanceof Short || value instanceof Byte) {
+            out.append(value.toString());
+        } else if (value instanceof Number number && Double.isFinite(number.doubleValue())) {
+            out.append(number.toString());
+        } else if (value instanceof Map<?, ?> nested) {
+            if (value == map || Enclosing.contains(enclosing, nested)) {
+                appendString(out, "(this Map)");
+            } else if (depth >= MAX_DEPTH) {
+                appendString(out, "(nested Map)");
+            } else {
+                appendMap(out, nested, new Enclosing(map, enclosing), depth + 1);
+            }
+        } else if (value instanceof CharSequence sequence) {
+            appendString(out, sequence);
+        } else {
+            appendString(out, String.valueOf(value));
+        }
+    }
+
+    /**
+     * The chain of the maps enclosing a nested one, it's only created for the nested maps.
+     */
+    private record Enclosing(Map<?, ?> map, Enclosing parent) {
+
+        static boolean contains(final Enclosing enclosing, final Map<?, ?> map) {
+            for (Enclosing e = enclosing; e != null; e = e.parent) {
+                if (e.map == map) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package su.piskun.exlib.core;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the created exceptions by error code and by HTTP status, and keeps the time of the last one.
+ * <p>
+ *     The registry is opt-in, it's enabled by {@link ExSettings#setMetrics(ExMetrics)}:
+ * </p>
+ * <pre>{@code
+ * ExMetrics metrics = new ExMetrics();
+ * ExSettings.setMetrics(metrics);
+ * ...
+ * ExMetrics.Snapshot snapshot = metrics.snapshot();
+ * long notFound = snapshot.getCount(HttpEx.NOT_FOUND);
+ * }</pre>
+ * <p>
+ *     The counters are {@link LongAdder}s, so recording stays cheap under contention.
+ *     Every error code gets a dense identifier that indexes the code counters,
+ *     and the status counters are indexed by the status itself.
+ *     The number of distinct codes is limited by {@value #MAX_CODES}, the rest is counted as {@link #OTHER_CODE}.
+ *     The last occurrence is updated at most once per {@value #LAST_OCCURRENCE_RESOLUTION} nanoseconds,
+ *     so the exceptions do not contend on writing it.
+ * </p>
+ * <p>
+ *     A constant exception (see {@link Ex.Builder#constant()}) is counted once, when it's built.
+ * </p>
+ */
+public final class ExMetrics {
+
+    /**
+     * The code that counts the exceptions with the codes beyond the {@value #MAX_CODES} limit.
+     */
+    public static final String OTHER_CODE = "OTHER";
+
+    static final int MAX_CODES = 1024;
+
+    private static final int MIN_STATUS = 400;
+    private static final int MAX_STATUS = 599;
+    private static final int INITIAL_CODES = 16;
+    private static final long LAST_OCCURRENCE_RESOLUTION = 1_000_000;
+
+    private final Map<String, Integer> codeIds = new ConcurrentHashMap<>();
+
+    /**
+     * Code counters indexed by the code identifiers. The array is replaced when it grows.
+     * A counter is stored before its identifier is put into {@link #codeIds},
+     * so a thread that sees an identifier sees its counter as well.
+     */
+    private volatile CodeCounter[] codeCounters = new CodeCounter[INITIAL_CODES];
+    private int codeCount;
+
+    /**
+     * The identifier of {@link #OTHER_CODE} once the limit of codes is reached, or -1.
+     */
+    private volatile int otherId = -1;
+
+    private final LongAdder[] statusCounters = new LongAdder[MAX_STATUS + 1];
+    private final AtomicLongArray statusLastOccurrences = new AtomicLongArray(MAX_STATUS + 1);
+
+    /**
+     * Creates an empty registry.
+     */
+    public ExMetrics() {
+        for (int status = MIN_STATUS; status <= MAX_STATUS; status++) {
+            statusCounters[status] = new LongAdder();
+        }
+    }
+
+    /**
+     * Counts an exception.
+     * @param code the error code of the exception.
+     * @param status the HTTP status of the exception, or 0 if it's not an HTTP one.
+     * @param timestamp the creation timestamp of the exception in epoch nanoseconds.
+     */
+    void record(final String code, final int status, final long timestamp) {
+        // The identifier is resolved before the array is read, since a new code can grow the array.
+        final int id = codeId(code);
+        final CodeCounter counter = codeCounters[id];
+        counter.count.increment();
+        if (timestamp - counter.lastOccurrence >= LAST_OCCURRENCE_RESOLUTION) {
+            counter.lastOccurrence = timestamp;
+        }
+        if (status >= MIN_STATUS && status <= MAX_STATUS) {
+            statusCounters[status].increment();
+            if (timestamp - statusLastOccurrences.get(status) >= LAST_OCCURRENCE_RESOLUTION) {
+                statusLastOccurrences.lazySet(status, timestamp);
+            }
+        }
+    }
+
+    private int codeId(final String code) {
+        final Integer id = codeIds.get(code);
+        if (id != null) {
+            return id;
+        }
+        final int otherId = this.otherId;
+        return otherId >= 0 ? otherId : register(code);
+    }
+
+    private synchronized int register(final String code) {
+        final Integer registered = codeIds.get(code);
+        if (registered != null) {
+            return registered;
+        }
+        if (otherId >= 0) {
+            return otherId;
+        }
+        if (codeCount < MAX_CODES - 1) {
+            return add(code);
+        }
+
+        // The last slot is reserved for the other codes.
+        final Integer other = codeIds.get(OTHER_CODE);
+        otherId = other != null ? other : add(OTHER_CODE);
+        return otherId;
+    }
+
+    private int add(final String code) {
+        final int id = codeCount++;
+        if (id == codeCounters.length) {
+            codeCounters = Arrays.copyOf(codeCounters, id * 2);
+        }
+        codeCounters[id] = new CodeCounter(code);
+        codeIds.put(code, id);
+        return id;
+    }
+
+    /**
+     * Returns the current counts.
+     * The counts that are recorded concurrently may or may not be included.
+     * @return an instance of {@link Snapshot}.
+     */
+    public Snapshot snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Returns the current counts and resets the counters,
+     * so every recorded exception is included into exactly one snapshot.
+     * @return an instance of {@link Snapshot}.
+     */
+    public Snapshot snapshotAndReset() {
+        return snapshot(true);
+    }
+
+    /**
+     * Resets the counters.
+     */
+    public void reset() {
+        snapshot(true);
+    }
+
+    private Snapshot snapshot(final boolean reset) {
+        final CodeCounter[] codeCounters = this.codeCounters;
+        final Map<String, Long> codeCounts = new LinkedHashMap<>();
+        final Map<String, Long> codeLastOccurrences = new LinkedHashMap<>();
+        for (int id = 0; id < codeCounters.length && codeCounters[id] != null; id++) {
+            final CodeCounter counter = codeCounters[id];
+            final long count = reset ? counter.count.sumThenReset() : counter.count.sum();
+            if (count > 0) {
+                codeCounts.put(counter.code, count);
+                codeLastOccurrences.put(counter.code, counter.lastOccurrence);
+            }
+            if (reset) {
+                counter.lastOccurrence = 0;
+            }
+        }
+
+        final Map<Integer, Long> statusCounts = new TreeMap<>();
+        final Map<Integer, Long> statusLastOccurrences = new TreeMap<>();
+        for (int status = MIN_STATUS; status <= MAX_STATUS; status++) {
+            final long count = reset ? statusCounters[status].sumThenReset() : statusCounters[status].sum();
+            if (count > 0) {
+                statusCounts.put(status, count);
+                statusLastOccurrences.put(status, this.statusLastOccurrences.get(status));
+            }
+            if (reset) {
+                this.statusLastOccurrences.set(status, 0);
+            }
+        }
+        return new Snapshot(codeCounts, statusCounts, codeLastOccurrences, statusLastOccurrences);
+    }
+
+    private static final class CodeCounter {
+        private final String code;
+        private final LongAdder count = new LongAdder();
+        private volatile long lastOccurrence;
+
+        private CodeCounter(final String code) {
+            this.code = code;
+        }
+    }
+
+    /**
+     * Immutable counts of the exceptions by error code and by HTTP status.
+     */
+    public static final class Snapshot {
+
+        private final Map<String, Long> codeCounts;
+        private final Map<Integer, Long> statusCounts;
+        private final Map<String, Long> codeLastOccurrences;
+        private final Map<Integer, Long> statusLastOccurrences;
+        private final long total;
+
+        private Snapshot(
+            final Map<String, Long> codeCounts,
+            final Map<Integer, Long> statusCounts,
+            final Map<String, Long> codeLastOccurrences,
+            final Map<Integer, Long> statusLastOccurrences
+        ) {
+            this.codeCounts = Collections.unmodifiableMap(codeCounts);
+            this.statusCounts = Collections.unmodifiableMap(statusCounts);
+            this.codeLastOccurrences = codeLastOccurrences;
+            this.statusLastOccurrences = statusLastOccurrences;
+            this.total = codeCounts.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * Returns the number of the exceptions with a given error code.
+         * @param code an error code.
+         * @return the number of exceptions.
+         */
+        public long getCount(final String code) {
+            return codeCounts.getOrDefault(code, 0L);
+        }
+
+        /**
+         * Returns the number of the exceptions with a given HTTP status.
+         * @param status an HTTP status.
+         * @return the number of exceptions.
+         */
+        public long getCount(final int status) {
+            return statusCounts.getOrDefault(status, 0L);
+        }
+
+        /**
+         * Returns the creation time of the last exception with a given error code.
+         * The time is accurate to a millisecond, since it's not updated more often.
+         * @param code an error code.
+         * @return the creation time, or {@code null} if there are no such exceptions.
+         */
+        public Instant getLastOccurrence(final String code) {
+            return instantOf(codeLastOccurrences.get(code));
+        }
+
+        /**
+         * Returns the creation time of the last exception with a given HTTP status.
+         * The time is accurate to a millisecond, since it's not updated more often.
+         * @param status an HTTP status.
+         * @return the creation time, or {@code null} if there are no such exceptions.
+         */
+        public Instant getLastOccurrence(final int status) {
+            return instantOf(statusLastOccurrences.get(status));
+        }
+
+        private static Instant instantOf(final Long epochNanos) {
+            return epochNanos != null ? Instant.ofEpochSecond(0, epochNanos) : null;
+        }
+
+        /**
+         * Returns the non-zero counts by error code, in the order the codes were first seen.
+         * @return an immutable map of the counts.
+         */
+        public Map<String, Long> getCodeCounts() {
+            return codeCounts;
+        }
+
+        /**
+         * Returns the non-zero counts by HTTP status, in the status order.
+         * @return an immutable map of the counts.
+         */
+        public Map<Integer, Long> getStatusCounts() {
+            return statusCounts;
+        }
+
+        /**
+         * Returns the total number of exceptions.
+         * @return the number of exceptions.
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                "codeCounts=" + codeCounts +
+                ", statusCounts=" + statusCounts +
+                ", total=" + total +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package su.piskun.exlib.core;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Either a value or an {@link ExFailure}, for the code paths where failures are expected
+ * (e.g. batch validation or parsing) and throwing an exception for each of them is too expensive.
+ * <pre>{@code
+ * private static final ExTemplate INVALID_AGE = ExTemplate.of("invalid age: {}");
+ *
+ * ExResult<Integer> parseAge(String value) {
+ *     int age = ...;
+ *     return age >= 0
+ *         ? ExResult.ok(age)
+ *         : ExResult.failure(ExFailure.http(HttpEx.BAD_REQUEST, INVALID_AGE, value).context("value", value));
+ * }
+ *
+ * User user = parseAge(value)
+ *     .map(User::new)
+ *     .orThrow();
+ * }</pre>
+ * <p>
+ *     The exception is built only by {@link #orThrow()}, when the failure escapes.
+ *     Instances are immutable; the failed results are passed through {@link #map(Function)}
+ *     and {@link #flatMap(Function)} as is, without any allocation.
+ * </p>
+ * @param <T> the type of the value.
+ */
+public final class ExResult<T> {
+
+    private final T value;
+    private final ExFailure failure;
+
+    private ExResult(final T value, final ExFailure failure) {
+        this.value = value;
+        this.failure = failure;
+    }
+
+    /**
+     * Creates a successful result.
+     * @param value a value, can be {@code null}.
+     * @param <T> the type of the value.
+     * @return an instance of {@link ExResult}.
+     */
+    public static <T> ExResult<T> ok(final T value) {
+        return new ExResult<>(value, null);
+    }
+
+    /**
+     * Creates a failed result.
+     * @param failure a failure description.
+     * @param <T> the type of the value.
+     * @return an instance of {@link ExResult}.
+     */
+    public static <T> ExResult<T> failure(final ExFailure failure) {
+        return new ExResult<>(null, Objects.requireNonNull(failure, "failure"));
+    }
+
+    /**
+     * Whether this result holds a value.
+     * @return {@code true} if this result is successful.
+     */
+    public boolean isOk() {
+        return failure == null;
+    }
+
+    /**
+     * Whether this result holds a failure.
+     * @return {@code true} if this result is failed.
+     */
+    public boolean isFailure() {
+        return failure != null;
+    }
+
+    /**
+     * Returns the failure description.
+     * @return an instance of {@link ExFailure}, or {@code null} if this result is successful.
+     */
+    public ExFailure getFailure() {
+        return failure;
+    }
+
+    /**
+     * Applies a function to the value of a successful result.
+     * @param mapper a function to apply to the value.
+     * @param <U> the type of the new value.
+     * @return a result of the function, or this result if it's failed.
+     */
+    public <U> ExResult<U> map(final Function<? super T, ? extends U> mapper) {
+        return failure == null ? ok(mapper.apply(value)) : self();
+    }
+
+    /**
+     * Applies a function that returns a result to the value of a successful result.
+     * @param mapper a function to apply to the value.
+     * @param <U> the type of the new value.
+     * @return a result of the function, or this result if it's failed.
+     */
+    public <U> ExResult<U> flatMap(final Function<? super T, ExResult<U>> mapper) {
+        return failure == null ? Objects.requireNonNull(mapper.apply(value), "result") : self();
+    }
+
+    /**
+     * Returns the value, or a given one if this result is failed.
+     * @param other a value to return if this result is failed.
+     * @return the value of this result, or {@code other}.
+     */
+    public T orElse(final T other) {
+        return failure == null ? value : other;
+    }
+
+    /**
+     * Returns the value, or throws an exception built for the failure (see {@link ExFailure#toEx()}).
+     * @return the value of this result.
+     * @throws Ex if this result is failed.
+     */
+    public T orThrow() {
+        if (failure != null) {
+            throw failure.toEx();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> ExResult<U> self() {
+        return (ExResult<U>) this;
+    }
+
+    @Override
+    public String toString() {
+        return failure == null ? "ExResult{value=" + value + '}' : "ExResult{failure=" + failure + '}';
+    }
+}
@@ -0,0 +1,205 @@
+package su.piskun.exlib.core;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global settings that are applied to every exception created by the library.
+ * <p>
+ *     Settings are meant to be configured once, on the application startup.
+ *     All the methods are thread-safe.
+ * </p>
+ */
+public final class ExSettings {
+
+    public static final int DEFAULT_STACK_TRACE_DEPTH = 16;
+
+    private static final Map<String, ExStackTrace> STACK_TRACES = new ConcurrentHashMap<>();
+
+    private static volatile ExStackTrace defaultStackTrace = ExStackTrace.FULL;
+    private static volatile int stackTraceDepth = DEFAULT_STACK_TRACE_DEPTH;
+    private static volatile ExIdGenerator idGenerator = ExIdGenerator.random();
+    private static volatile boolean lazyId;
+    private static volatile ExClock clock = ExClock.system();
+    private static volatile ExMetrics metrics;
+    private static volatile ExSiteSampler siteSampler;
+    private static volatile ExCapturePolicy capturePolicy;
+
+    private ExSettings() {}
+
+    /**
+     * Returns the stack trace mode that is used when neither a builder nor an error code defines it.
+     * @return the default {@link ExStackTrace} mode.
+     */
+    public static ExStackTrace getDefaultStackTrace() {
+        return defaultStackTrace;
+    }
+
+    /**
+     * Sets the stack trace mode that is used when neither a builder nor an error code defines it.
+     * @param stackTrace the default {@link ExStackTrace} mode.
+     */
+    public static void setDefaultStackTrace(final ExStackTrace stackTrace) {
+        defaultStackTrace = Objects.requireNonNull(stackTrace, "stackTrace");
+    }
+
+    /**
+     * Returns the stack trace mode for the exceptions with a given error code.
+     * @param code an exception error code.
+     * @return the {@link ExStackTrace} mode of the code, or the default one if the code does not define it.
+     */
+    public static ExStackTrace getStackTrace(final String code) {
+        final ExStackTrace stackTrace = STACK_TRACES.get(code);
+        return stackTrace != null ? stackTrace : defaultStackTrace;
+    }
+
+    /**
+     * Sets the stack trace mode for the exceptions with a given error code.
+     * @param code an exception error code.
+     * @param stackTrace the {@link ExStackTrace} mode, or {@code null} to fall back to the default one.
+     */
+    public static void setStackTrace(final String code, final ExStackTrace stackTrace) {
+        Objects.requireNonNull(code, "code");
+        if (stackTrace == null) {
+            STACK_TRACES.remove(code);
+        } else {
+            STACK_TRACES.put(code, stackTrace);
+        }
+    }
+
+    /**
+     * Returns the maximum number of frames recorded in the {@link ExStackTrace#LIMITED} mode.
+     * @return the maximum stack trace depth.
+     */
+    public static int getStackTraceDepth() {
+        return stackTraceDepth;
+    }
+
+    /**
+     * Sets the maximum number of frames recorded in the {@link ExStackTrace#LIMITED} mode.
+     * @param depth the maximum stack trace depth, must be positive.
+     */
+    public static void setStackTraceDepth(final int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive: " + depth);
+        }
+        stackTraceDepth = depth;
+    }
+
+    /**
+     * Returns the generator of the exception identifiers.
+     * @return the {@link ExIdGenerator} instance.
+     */
+    public static ExIdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Sets the generator of the exception identifiers, {@link ExIdGenerator#random()} by default.
+     * @param generator the {@link ExIdGenerator} instance.
+     */
+    public static void setIdGenerator(final ExIdGenerator generator) {
+        idGenerator = Objects.requireNonNull(generator, "generator");
+    }
+
+    /**
+     * Returns whether the exception identifiers are generated on the first access.
+     * @return {@code true} if the identifiers are generated lazily.
+     */
+    public static boolean isLazyId() {
+        return lazyId;
+    }
+
+    /**
+     * Defines whether the exception identifiers are generated on the first {@link Ex#getId()} call
+     * instead of the exception creation. Disabled by default.
+     * <p>
+     *     It saves the generation for the exceptions that are caught and never reported,
+     *     but the identifier of a reported exception is generated when it's reported.
+     * </p>
+     * @param lazy {@code true} to generate the identifiers lazily.
+     */
+    public static void setLazyId(final boolean lazy) {
+        lazyId = lazy;
+    }
+
+    /**
+     * Returns the source of the exception timestamps.
+     * @return the {@link ExClock} instance.
+     */
+    public static ExClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the source of the exception timestamps, {@link ExClock#system()} by default.
+     * @param clock the {@link ExClock} instance.
+     */
+    public static void setClock(final ExClock clock) {
+        ExSettings.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Returns the registry that counts the created exceptions.
+     * @return the {@link ExMetrics} instance, or {@code null} if the counting is disabled.
+     */
+    public static ExMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the registry that counts the created exceptions. Disabled by default.
+     * @param metrics the {@link ExMetrics} instance, or {@code null} to disable the counting.
+     */
+    public static void setMetrics(final ExMetrics metrics) {
+        ExSettings.metrics = metrics;
+    }
+
+    /**
+     * Returns the sampler that attributes the created exceptions to their throw sites.
+     * @return the {@link ExSiteSampler} instance, or {@code null} if the sampling is disabled.
+     */
+    public static ExSiteSampler getSiteSampler() {
+        return siteSampler;
+    }
+
+    /**
+     * Sets the sampler that attributes the created exceptions to their throw sites. Disabled by default.
+     * @param siteSampler the {@link ExSiteSampler} instance, or {@code null} to disable the sampling.
+     */
+    public static void setSiteSampler(final ExSiteSampler siteSampler) {
+        ExSettings.siteSampler = siteSampler;
+    }
+
+    /**
+     * Returns the policy that limits the number of captured stack traces per failure.
+     * @return the {@link ExCapturePolicy} instance, or {@code null} if every stack trace is captured.
+     */
+    public static ExCapturePolicy getCapturePolicy() {
+        return capturePolicy;
+    }
+
+    /**
+     * Sets the policy that limits the number of captured stack traces per failure. Disabled by default.
+     * @param capturePolicy the {@link ExCapturePolicy} instance, or {@code null} to capture every stack trace.
+     */
+    public static void setCapturePolicy(final ExCapturePolicy capturePolicy) {
+        ExSettings.capturePolicy = capturePolicy;
+    }
+
+    /**
+     * Restores the default settings.
+     */
+    public static void reset() {
+        STACK_TRACES.clear();
+        defaultStackTrace = ExStackTrace.FULL;
+        stackTraceDepth = DEFAULT_STACK_TRACE_DEPTH;
+        idGenerator = ExIdGenerator.random();
+        lazyId = false;
+        clock = ExClock.system();
+        metrics = null;
+        siteSampler = null;
+        capturePolicy = null;
+    }
+}
@@ -0,0 +1,252 @@
+package su.piskun.exlib.core;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Attributes the created exceptions to their throw sites, without capturing the stack traces.
+ * <p>
+ *     The sampler is opt-in, it's enabled by {@link ExSettings#setSiteSampler(ExSiteSampler)}:
+ * </p>
+ * <pre>{@code
+ * ExSiteSampler sampler = new ExSiteSampler(100, 1000);
+ * ExSettings.setSiteSampler(sampler);
+ * ...
+ * Map<ExSiteSampler.Site, Long> top = sampler.top(10);
+ * }</pre>
+ * <p>
+ *     Every sampled exception walks its stack by {@link StackWalker} up to the first frame that is not
+ *     an exception, an exception builder or a class of this library, within the first 32 frames.
+ *     The sites that throw the most are the candidates for the stackless or constant exceptions.
+ * </p>
+ * <p>
+ *     The counts are kept in a concurrent map of at most {@code maxSites} entries, by the Space-Saving algorithm:
+ *     when it's full, a new site replaces a site with a low count and inherits that count plus one,
+ *     so a frequent site that appears late is not evicted by the next rare one.
+ *     The counts are upper bounds of the real ones as a result.
+ *     The replaced site is the lowest of a few random ones, so the replacement does not scan the map.
+ *     Only one thread adds a site at a time, and a sample that comes meanwhile is dropped, so no thread waits.
+ * </p>
+ */
+public final class ExSiteSampler {
+
+    private static final int EVICTION_SAMPLES = 8;
+
+    private final int sampleRate;
+    private final Map<Site, Counter> counts = new ConcurrentHashMap<>();
+
+    /**
+     * The counters by their slot, to pick random ones for the eviction. Guarded by the lock.
+     */
+    private final Counter[] slots;
+    private int size;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param sampleRate one of how many exceptions is sampled (e.g. 100), 1 to sample every exception.
+     * @param maxSites the maximum number of the sites to keep.
+     */
+    public ExSiteSampler(final int sampleRate, final int maxSites) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+        }
+        if (maxSites < 1) {
+            throw new IllegalArgumentException("Max sites must be positive: " + maxSites);
+        }
+        this.sampleRate = sampleRate;
+        this.slots = new Counter[maxSites];
+    }
+
+    /**
+     * Attributes an exception that is being created to its throw site, if the exception is sampled.
+     */
+    void sample() {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        final StackWalker.StackFrame frame = ThrowSites.find();
+        if (frame == null) {
+            return;
+        }
+        final Site site = new Site(frame);
+        final Counter counter = counts.get(site);
+        if (counter != null) {
+            counter.count.increment();
+        } else {
+            add(site);
+        }
+    }
+
+    private void add(final Site site) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            final Counter existing = counts.get(site);
+            if (existing != null) {
+                existing.count.increment();
+                return;
+            }
+
+            final Counter counter;
+            if (size < slots.length) {
+                counter = new Counter(site, size, 1);
+                slots[size++] = counter;
+            } else {
+                final Counter victim = victim();
+                counts.remove(victim.site);
+                counter = new Counter(site, victim.slot, victim.count.sum() + 1);
+                slots[victim.slot] = counter;
+            }
+            counts.put(site, counter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the counter with the lowest count among a few random ones, or among all if there are few.
+     */
+    private Counter victim() {
+        final boolean sampled = slots.length > EVICTION_SAMPLES;
+        final int samples = sampled ? EVICTION_SAMPLES : slots.length;
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        Counter victim = null;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < samples; i++) {
+            final Counter candidate = slots[sampled ? random.nextInt(slots.length) : i];
+            final long count = candidate.count.sum();
+            if (count < min) {
+                victim = candidate;
+                min = count;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * Returns the sites that threw the most exceptions.
+     * The counts are estimated, i.e. the sampled counts multiplied by the sample rate.
+     * @param limit the maximum number of sites.
+     * @return an ordered map of the estimated counts by site, from the highest count to the lowest.
+     */
+    public Map<Site, Long> top(final int limit) {
+        final Map<Site, Long> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue().count.sum() * sampleRate))
+            .sorted(Map.Entry.<Site, Long>comparingByValue().reversed())
+            .limit(limit)
+            .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    /**
+     * Removes all the sites.
+     */
+    public void reset() {
+        lock.lock();
+        try {
+            counts.clear();
+            Arrays.fill(slots, null);
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Counter {
+
+        private final Site site;
+        private final int slot;
+        private final LongAdder count = new LongAdder();
+
+        private Counter(final Site site, final int slot, final long count) {
+            this.site = site;
+            this.slot = slot;
+            this.count.add(count);
+        }
+    }
+
+    /**
+     * A place in the code that creates exceptions.
+     */
+    public static final class Site {
+
+        private final String className;
+        private final String methodName;
+        private final String fileName;
+        private final int lineNumber;
+
+        private Site(final StackWalker.StackFrame frame) {
+            this.className = frame.getClassName();
+            this.methodName = frame.getMethodName();
+            this.fileName = frame.getFileName();
+            this.lineNumber = frame.getLineNumber();
+        }
+
+        /**
+         * Returns the fully qualified name of the class.
+         * @return the class name.
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Returns the name of the method.
+         * @return the method name.
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+
+        /**
+         * Returns the name of the source file.
+         * @return the file name, or {@code null} if it's unknown.
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Returns the line number in the source file.
+         * @return the line number, or a negative number if it's unknown.
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Site site)) {
+                return false;
+            }
+            return lineNumber == site.lineNumber
+                && className.equals(site.className)
+                && methodName.equals(site.methodName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(className, methodName, lineNumber);
+        }
+
+        /**
+         * Returns the site in the {@link StackTraceElement#toString()} format,
+         * e.g. {@code com.example.UserService.find(UserService.java:42)}.
+         */
+        @Override
+        public String toString() {
+            return new StackTraceElement(className, methodName, fileName, lineNumber).toString();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package su.piskun.exlib.core;
+
+/**
+ * Defines how an exception captures its stack trace.
+ * <p>
+ *     The mode can be selected per builder ({@link Ex.Builder#stackTrace(ExStackTrace)}),
+ *     per error code ({@link ExSettings#setStackTrace(String, ExStackTrace)})
+ *     or globally ({@link ExSettings#setDefaultStackTrace(ExStackTrace)}).
+ * </p>
+ */
+public enum ExStackTrace {
+
+    /**
+     * The standard JVM behaviour: the whole stack is captured when the exception is created.
+     */
+    FULL,
+
+    /**
+     * Only the top frames are recorded (see {@link ExSettings#setStackTraceDepth(int)}).
+     * <p>
+     *     The frames are recorded by {@link StackWalker}, which stops after the top frames,
+     *     so a retained exception holds a few frames instead of the whole stack.
+     *     They are set as the regular stack trace, so the JDK prints them when the exception is a cause,
+     *     and they are serialized along with the exception.
+     * </p>
+     * <p>
+     *     <b>Note:</b> the stack walk has a fixed cost of several microseconds,
+     *     so this mode is faster than {@link #FULL} only for the very deep stacks (hundreds of frames).
+     *     Use {@link #NONE} when the construction cost matters most.
+     * </p>
+     */
+    LIMITED,
+
+    /**
+     * No stack trace is captured and suppressed exceptions are disabled.
+     * <p>
+     *     It's the cheapest way to create an exception.
+     *     Useful for the expected errors (e.g. 404, 400) that are thrown from deep call chains.
+     * </p>
+     */
+    NONE
+}
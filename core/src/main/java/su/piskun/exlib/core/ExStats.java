@@ -0,0 +1,222 @@
+package su.piskun.exlib.core;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Exposes the {@link ExMetrics} counters as the {@value #OBJECT_NAME} MBean,
+ * and the top throw sites of {@link ExSiteSampler}, if it's enabled,
+ * so they can be checked by jconsole, VisualVM, etc. on a live JVM without Micrometer:
+ * <pre>{@code
+ * ExMetrics metrics = new ExMetrics();
+ * ExSettings.setMetrics(metrics);
+ * ExStats.register(metrics);
+ * }</pre>
+ * <p>
+ *     The request path only updates the lock-free {@link ExMetrics} counters.
+ *     The rates are computed when the MBean is read, as exponentially weighted averages over the last minute,
+ *     so the more often the MBean is read, the more accurate the rates are.
+ * </p>
+ */
+public final class ExStats implements ExStatsMXBean {
+
+    /**
+     * The object name of the MBean that is registered by {@link #register(ExMetrics)}.
+     */
+    public static final String OBJECT_NAME = "su.piskun.exlib:type=ExStats";
+
+    private static final int TOP_SITES = 10;
+    private static final double RATE_WINDOW_NANOS = 60_000_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final ExMetrics metrics;
+
+    private long updatedAt;
+    private final Rate total = new Rate();
+    private final Map<String, Rate> codeRates = new HashMap<>();
+    private final Map<Integer, Rate> statusRates = new HashMap<>();
+    private ExMetrics.Snapshot snapshot;
+
+    /**
+     * @param metrics the counters to expose.
+     */
+    public ExStats(final ExMetrics metrics) {
+        this.metrics = metrics;
+        this.updatedAt = System.nanoTime();
+        this.snapshot = metrics.snapshot();
+    }
+
+    /**
+     * Creates an MBean and registers it in the platform MBean server as {@value #OBJECT_NAME},
+     * replacing the previously registered one.
+     * @param metrics the counters to expose.
+     * @return an instance of {@link ExStats}.
+     * @throws IllegalStateException if the MBean cannot be registered.
+     */
+    public static ExStats register(final ExMetrics metrics) {
+        final ExStats stats = new ExStats(metrics);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = objectName();
+        try {
+            try {
+                server.registerMBean(stats, name);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(name);
+                server.registerMBean(stats, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+        return stats;
+    }
+
+    /**
+     * Unregisters the {@value #OBJECT_NAME} MBean, if there is one.
+     */
+    public static void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName());
+        } catch (InstanceNotFoundException e) {
+            // Nothing to unregister.
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + OBJECT_NAME, e);
+        }
+    }
+
+    private static ObjectName objectName() {
+        try {
+            return new ObjectName(OBJECT_NAME);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public synchronized long getTotal() {
+        return update(System.nanoTime()).getTotal();
+    }
+
+    @Override
+    public synchronized double getRate() {
+        update(System.nanoTime());
+        return total.rate;
+    }
+
+    @Override
+    public synchronized List<Stat> getCodes() {
+        final ExMetrics.Snapshot snapshot = update(System.nanoTime());
+        return stats(snapshot.getCodeCounts(), codeRates, Function.identity(), snapshot::getLastOccurrence);
+    }
+
+    @Override
+    public synchronized List<Stat> getStatuses() {
+        final ExMetrics.Snapshot snapshot = update(System.nanoTime());
+        return stats(snapshot.getStatusCounts(), statusRates, String::valueOf, snapshot::getLastOccurrence);
+    }
+
+    @Override
+    public Map<String, Long> getTopSites() {
+        final ExSiteSampler sampler = ExSettings.getSiteSampler();
+        final Map<String, Long> sites = new LinkedHashMap<>();
+        if (sampler != null) {
+            sampler.top(TOP_SITES).forEach((site, count) -> sites.put(site.toString(), count));
+        }
+        return sites;
+    }
+
+    @Override
+    public synchronized void reset() {
+        metrics.reset();
+        final ExSiteSampler sampler = ExSettings.getSiteSampler();
+        if (sampler != null) {
+            sampler.reset();
+        }
+        total.reset();
+        codeRates.clear();
+        statusRates.clear();
+        snapshot = metrics.snapshot();
+        updatedAt = System.nanoTime();
+    }
+
+    /**
+     * Takes a new snapshot of the counters and updates the rates by the counts since the previous one.
+     */
+    synchronized ExMetrics.Snapshot update(final long nanoTime) {
+        final long elapsed = nanoTime - updatedAt;
+        if (elapsed <= 0) {
+            return snapshot;
+        }
+
+        final ExMetrics.Snapshot snapshot = metrics.snapshot();
+        final double alpha = 1 - Math.exp(-elapsed / RATE_WINDOW_NANOS);
+        total.update(snapshot.getTotal(), elapsed, alpha);
+        update(codeRates, snapshot.getCodeCounts(), elapsed, alpha);
+        update(statusRates, snapshot.getStatusCounts(), elapsed, alpha);
+
+        this.snapshot = snapshot;
+        this.updatedAt = nanoTime;
+        return snapshot;
+    }
+
+    private static <K> void update(
+        final Map<K, Rate> rates,
+        final Map<K, Long> counts,
+        final long elapsed,
+        final double alpha
+    ) {
+        counts.keySet().forEach(key -> rates.computeIfAbsent(key, k -> new Rate()));
+        rates.forEach((key, rate) -> rate.update(counts.getOrDefault(key, 0L), elapsed, alpha));
+    }
+
+    private static <K> List<Stat> stats(
+        final Map<K, Long> counts,
+        final Map<K, Rate> rates,
+        final Function<K, String> names,
+        final Function<K, Instant> lastOccurrences
+    ) {
+        final List<Stat> stats = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> {
+            final Rate rate = rates.get(key);
+            final Instant lastOccurrence = lastOccurrences.apply(key);
+            stats.add(new Stat(
+                names.apply(key),
+                count,
+                rate != null ? rate.rate : 0,
+                lastOccurrence != null ? lastOccurrence.toString() : null
+            ));
+        });
+        return stats;
+    }
+
+    /**
+     * An exponentially weighted rate of a counter.
+     */
+    private static final class Rate {
+        private long count;
+        private double rate;
+
+        private void update(final long count, final long elapsed, final double alpha) {
+            // The counter can go down only if it's reset.
+            final long delta = count >= this.count ? count - this.count : count;
+            rate += alpha * (delta * NANOS_PER_SECOND / elapsed - rate);
+            this.count = count;
+        }
+
+        private void reset() {
+            count = 0;
+            rate = 0;
+        }
+    }
+}
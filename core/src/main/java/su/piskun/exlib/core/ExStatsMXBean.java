@@ -0,0 +1,107 @@
+package su.piskun.exlib.core;
+
+import javax.management.ConstructorParameters;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JMX view of the exception statistics, see {@link ExStats}.
+ */
+public interface ExStatsMXBean {
+
+    /**
+     * Returns the total number of exceptions.
+     * @return the number of exceptions.
+     */
+    long getTotal();
+
+    /**
+     * Returns the exponentially weighted rate of exceptions over the last minute.
+     * @return the number of exceptions per second.
+     */
+    double getRate();
+
+    /**
+     * Returns the statistics by error code, in the order the codes were first seen.
+     * @return a list of statistics.
+     */
+    List<Stat> getCodes();
+
+    /**
+     * Returns the statistics by HTTP status, in the status order.
+     * @return a list of statistics.
+     */
+    List<Stat> getStatuses();
+
+    /**
+     * Returns the sites that threw the most exceptions, if {@link ExSiteSampler} is enabled.
+     * @return the estimated counts by site, e.g. {@code com.example.UserService.find(UserService.java:42)}.
+     */
+    Map<String, Long> getTopSites();
+
+    /**
+     * Resets the statistics.
+     */
+    void reset();
+
+    /**
+     * Statistics of an error code or an HTTP status.
+     */
+    final class Stat {
+
+        private final String name;
+        private final long count;
+        private final double rate;
+        private final String lastOccurrence;
+
+        @ConstructorParameters({"name", "count", "rate", "lastOccurrence"})
+        public Stat(final String name, final long count, final double rate, final String lastOccurrence) {
+            this.name = name;
+            this.count = count;
+            this.rate = rate;
+            this.lastOccurrence = lastOccurrence;
+        }
+
+        /**
+         * Returns the error code or the HTTP status.
+         * @return the name of the statistics.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of exceptions.
+         * @return the number of exceptions.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the exponentially weighted rate of exceptions over the last minute.
+         * @return the number of exceptions per second.
+         */
+        public double getRate() {
+            return rate;
+        }
+
+        /**
+         * Returns the creation time of the last exception in the ISO-8601 format.
+         * @return the creation time of the last exception.
+         */
+        public String getLastOccurrence() {
+            return lastOccurrence;
+        }
+
+        @Override
+        public String toString() {
+            return "Stat{" +
+                "name='" + name + '\'' +
+                ", count=" + count +
+                ", rate=" + rate +
+                ", lastOccurrence=" + lastOccurrence +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package su.piskun.exlib.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A precompiled message template with SLF4J-style {@code {}} placeholders.
+ * <p>
+ *     The template is parsed once, so it's meant to be declared as a constant:
+ * </p>
+ * <pre>{@code
+ * private static final ExTemplate USER_NOT_FOUND = ExTemplate.of("user with id {} not found");
+ *
+ * throw HttpEx.notFound(USER_NOT_FOUND, id);
+ * }</pre>
+ * <p>
+ *     A placeholder can be escaped with a backslash ({@code \{}}).
+ *     Placeholders without a matching argument are rendered as is, extra arguments are ignored.
+ *     Instances are immutable and thread-safe.
+ * </p>
+ */
+public final class ExTemplate {
+
+    private static final String PLACEHOLDER = "{}";
+    private static final char ESCAPE = '\\';
+    private static final int ARGUMENT_LENGTH_ESTIMATE = 16;
+
+    private final String template;
+    private final String[] fragments;
+    private final int length;
+
+    private ExTemplate(final String template, final String[] fragments) {
+        this.template = template;
+        this.fragments = fragments;
+
+        int length = 0;
+        for (String fragment : fragments) {
+            length += fragment.length();
+        }
+        this.length = length;
+    }
+
+    /**
+     * Parses a message template.
+     * @param template a message template with {@code {}} placeholders.
+     * @return an instance of {@link ExTemplate}.
+     */
+    public static ExTemplate of(final String template) {
+        Objects.requireNonNull(template, "template");
+
+        final List<String> fragments = new ArrayList<>();
+        final StringBuilder fragment = new StringBuilder();
+        int from = 0;
+        int index;
+        while ((index = template.indexOf(PLACEHOLDER, from)) >= 0) {
+            if (index > 0 && template.charAt(index - 1) == ESCAPE) {
+                fragment.append(template, from, index - 1).append(PLACEHOLDER);
+            } else {
+                fragment.append(template, from, index);
+                fragments.add(fragment.toString());
+                fragment.setLength(0);
+            }
+            from = index + PLACEHOLDER.length();
+        }
+        fragment.append(template, from, template.length());
+        fragments.add(fragment.toString());
+
+        return new ExTemplate(template, fragments.toArray(new String[0]));
+    }
+
+    /**
+     * Returns the number of placeholders in the template.
+     * @return the number of placeholders.
+     */
+    public int getPlaceholders() {
+        return fragments.length - 1;
+    }
+
+    /**
+     * Renders the template by replacing the placeholders with the arguments.
+     * @param args an array of arguments to replace the placeholders.
+     * @return the rendered message.
+     */
+    public String render(final Object... args) {
+        if (fragments.length == 1) {
+            return fragments[0];
+        }
+
+        final StringBuilder result = new StringBuilder(length + ARGUMENT_LENGTH_ESTIMATE * (fragments.length - 1));
+        result.append(fragments[0]);
+        for (int i = 1; i < fragments.length; i++) {
+            if (args != null && i <= args.length) {
+                result.append(args[i - 1]);
+            } else {
+                result.append(PLACEHOLDER);
+            }
+            result.append(fragments[i]);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -1,5 +1,7 @@
 package su.piskun.exlib.core;
 
+import java.io.IOException;
+
 /**
  * Exceptions for the HTTP context. Useful when building REST APIs.
  */
@@ -60,6 +62,53 @@ public final class HttpEx extends Ex {
         this.statusCode = builder.statusCode;
     }
 
+    // Generic factory methods.
+
+    /**
+     * Creates a {@link Builder} instance for a given HTTP error status.
+     * The error code is set to the status' default code (see {@link HttpExStatus#getDefaultCode()}).
+     * @param status an HTTP status code from 400 to 599
+     * @return An instance of the {@link Builder} class.
+     * @throws IllegalArgumentException if the status is not an error status.
+     */
+    public static Builder of(int status) {
+        final HttpExStatus metadata = HttpExStatus.of(status);
+        return new Builder().statusCode(status).code(metadata.getDefaultCode());
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for a given HTTP error status.
+     * @param status an HTTP status code from 400 to 599
+     * @param message an error message
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx of(int status, String message) {
+        return of(status).message(message).build();
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for a given HTTP error status.
+     * @param status an HTTP status code from 400 to 599
+     * @param message a format error message
+     * @param args formatting arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx of(int status, String message, Object... args) {
+        return of(status).message(message, args).build();
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for a given HTTP error status.
+     * The message is rendered from a template.
+     * @param status an HTTP status code from 400 to 599
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx of(int status, ExTemplate template, Object... args) {
+        return of(status).message(template, args).build();
+    }
+
     // Factory methods for the client errors.
 
     /**
@@ -67,7 +116,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder badRequest() {
-        return new Builder().statusCode(BAD_REQUEST).code(CLIENT_ERROR);
+        return of(BAD_REQUEST);
     }
 
     /**
@@ -76,7 +125,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx badRequest(String message) {
-        return badRequest().message(message).build();
+        return of(BAD_REQUEST, message);
     }
 
     /**
@@ -86,7 +135,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx badRequest(String message, Object... args) {
-        return badRequest().message(message, args).build();
+        return of(BAD_REQUEST, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 400 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx badRequest(ExTemplate template, Object... args) {
+        return of(BAD_REQUEST, template, args);
     }
 
     /**
@@ -94,7 +154,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder unauthorized() {
-        return new Builder().statusCode(UNAUTHORIZED).code(CLIENT_ERROR);
+        return of(UNAUTHORIZED);
     }
 
     /**
@@ -103,7 +163,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unauthorized(String message) {
-        return unauthorized().message(message).build();
+        return of(UNAUTHORIZED, message);
     }
 
     /**
@@ -113,7 +173,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unauthorized(String message, Object... args) {
-        return unauthorized().message(message, args).build();
+        return of(UNAUTHORIZED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 401 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx unauthorized(ExTemplate template, Object... args) {
+        return of(UNAUTHORIZED, template, args);
     }
 
     /**
@@ -121,7 +192,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder paymentRequired() {
-        return new Builder().statusCode(PAYMENT_REQUIRED).code(CLIENT_ERROR);
+        return of(PAYMENT_REQUIRED);
     }
 
     /**
@@ -130,7 +201,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx paymentRequired(String message) {
-        return paymentRequired().message(message).build();
+        return of(PAYMENT_REQUIRED, message);
     }
 
     /**
@@ -140,7 +211,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx paymentRequired(String message, Object... args) {
-        return paymentRequired().message(message, args).build();
+        return of(PAYMENT_REQUIRED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 402 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx paymentRequired(ExTemplate template, Object... args) {
+        return of(PAYMENT_REQUIRED, template, args);
     }
 
     /**
@@ -148,7 +230,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder forbidden() {
-        return new Builder().statusCode(FORBIDDEN).code(CLIENT_ERROR);
+        return of(FORBIDDEN);
     }
 
     /**
@@ -157,7 +239,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx forbidden(String message) {
-        return forbidden().message(message).build();
+        return of(FORBIDDEN, message);
     }
 
     /**
@@ -167,7 +249,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx forbidden(String message, Object... args) {
-        return forbidden().message(message, args).build();
+        return of(FORBIDDEN, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 403 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx forbidden(ExTemplate template, Object... args) {
+        return of(FORBIDDEN, template, args);
     }
 
     /**
@@ -175,7 +268,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder notFound() {
-        return new Builder().statusCode(NOT_FOUND).code(CLIENT_ERROR);
+        return of(NOT_FOUND);
     }
 
     /**
@@ -184,7 +277,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notFound(String message) {
-        return notFound().message(message).build();
+        return of(NOT_FOUND, message);
     }
 
     /**
@@ -194,7 +287,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notFound(String message, Object... args) {
-        return notFound().message(message, args).build();
+        return of(NOT_FOUND, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 404 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx notFound(ExTemplate template, Object... args) {
+        return of(NOT_FOUND, template, args);
     }
 
     /**
@@ -202,7 +306,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder methodNotAllowed() {
-        return new Builder().statusCode(METHOD_NOT_ALLOWED).code(CLIENT_ERROR);
+        return of(METHOD_NOT_ALLOWED);
     }
 
     /**
@@ -211,7 +315,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx methodNotAllowed(String message) {
-        return methodNotAllowed().message(message).build();
+        return of(METHOD_NOT_ALLOWED, message);
     }
 
     /**
@@ -221,7 +325,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx methodNotAllowed(String message, Object... args) {
-        return methodNotAllowed().message(message, args).build();
+        return of(METHOD_NOT_ALLOWED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 405 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx methodNotAllowed(ExTemplate template, Object... args) {
+        return of(METHOD_NOT_ALLOWED, template, args);
     }
 
     /**
@@ -229,7 +344,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder notAcceptable() {
-        return new Builder().statusCode(NOT_ACCEPTABLE).code(CLIENT_ERROR);
+        return of(NOT_ACCEPTABLE);
     }
 
     /**
@@ -238,7 +353,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notAcceptable(String message) {
-        return notAcceptable().message(message).build();
+        return of(NOT_ACCEPTABLE, message);
     }
 
     /**
@@ -248,7 +363,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notAcceptable(String message, Object... args) {
-        return notAcceptable().message(message, args).build();
+        return of(NOT_ACCEPTABLE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 406 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx notAcceptable(ExTemplate template, Object... args) {
+        return of(NOT_ACCEPTABLE, template, args);
     }
 
     /**
@@ -256,7 +382,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder proxyAuthenticationRequired() {
-        return new Builder().statusCode(PROXY_AUTHENTICATION_REQUIRED).code(CLIENT_ERROR);
+        return of(PROXY_AUTHENTICATION_REQUIRED);
     }
 
     /**
@@ -265,7 +391,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx proxyAuthenticationRequired(String message) {
-        return proxyAuthenticationRequired().message(message).build();
+        return of(PROXY_AUTHENTICATION_REQUIRED, message);
     }
 
     /**
@@ -275,7 +401,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx proxyAuthenticationRequired(String message, Object... args) {
-        return proxyAuthenticationRequired().message(message, args).build();
+        return of(PROXY_AUTHENTICATION_REQUIRED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 407 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx proxyAuthenticationRequired(ExTemplate template, Object... args) {
+        return of(PROXY_AUTHENTICATION_REQUIRED, template, args);
     }
 
     /**
@@ -283,7 +420,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder requestTimeout() {
-        return new Builder().statusCode(REQUEST_TIMEOUT).code(CLIENT_ERROR);
+        return of(REQUEST_TIMEOUT);
     }
 
     /**
@@ -292,7 +429,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx requestTimeout(String message) {
-        return requestTimeout().message(message).build();
+        return of(REQUEST_TIMEOUT, message);
     }
 
     /**
@@ -302,7 +439,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx requestTimeout(String message, Object... args) {
-        return requestTimeout().message(message, args).build();
+        return of(REQUEST_TIMEOUT, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 408 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx requestTimeout(ExTemplate template, Object... args) {
+        return of(REQUEST_TIMEOUT, template, args);
     }
 
     /**
@@ -310,7 +458,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder conflict() {
-        return new Builder().statusCode(CONFLICT).code(CLIENT_ERROR);
+        return of(CONFLICT);
     }
 
     /**
@@ -319,7 +467,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx conflict(String message) {
-        return conflict().message(message).build();
+        return of(CONFLICT, message);
     }
 
     /**
@@ -329,7 +477,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx conflict(String message, Object... args) {
-        return conflict().message(message, args).build();
+        return of(CONFLICT, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 409 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx conflict(ExTemplate template, Object... args) {
+        return of(CONFLICT, template, args);
     }
 
     /**
@@ -337,7 +496,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder gone() {
-        return new Builder().statusCode(GONE).code(CLIENT_ERROR);
+        return of(GONE);
     }
 
     /**
@@ -346,7 +505,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx gone(String message) {
-        return gone().message(message).build();
+        return of(GONE, message);
     }
 
     /**
@@ -356,7 +515,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx gone(String message, Object... args) {
-        return gone().message(message, args).build();
+        return of(GONE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 410 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx gone(ExTemplate template, Object... args) {
+        return of(GONE, template, args);
     }
 
     /**
@@ -364,7 +534,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder lengthRequired() {
-        return new Builder().statusCode(LENGTH_REQUIRED).code(CLIENT_ERROR);
+        return of(LENGTH_REQUIRED);
     }
 
     /**
@@ -373,7 +543,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx lengthRequired(String message) {
-        return lengthRequired().message(message).build();
+        return of(LENGTH_REQUIRED, message);
     }
 
     /**
@@ -383,7 +553,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx lengthRequired(String message, Object... args) {
-        return lengthRequired().message(message, args).build();
+        return of(LENGTH_REQUIRED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 411 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx lengthRequired(ExTemplate template, Object... args) {
+        return of(LENGTH_REQUIRED, template, args);
     }
 
     /**
@@ -391,7 +572,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder preconditionFailed() {
-        return new Builder().statusCode(PRECONDITION_FAILED).code(CLIENT_ERROR);
+        return of(PRECONDITION_FAILED);
     }
 
     /**
@@ -400,7 +581,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx preconditionFailed(String message) {
-        return preconditionFailed().message(message).build();
+        return of(PRECONDITION_FAILED, message);
     }
 
     /**
@@ -410,7 +591,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx preconditionFailed(String message, Object... args) {
-        return preconditionFailed().message(message, args).build();
+        return of(PRECONDITION_FAILED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 412 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx preconditionFailed(ExTemplate template, Object... args) {
+        return of(PRECONDITION_FAILED, template, args);
     }
 
     /**
@@ -418,7 +610,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder payloadTooLarge() {
-        return new Builder().statusCode(PAYLOAD_TOO_LARGE).code(CLIENT_ERROR);
+        return of(PAYLOAD_TOO_LARGE);
     }
 
     /**
@@ -427,7 +619,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx payloadTooLarge(String message) {
-        return payloadTooLarge().message(message).build();
+        return of(PAYLOAD_TOO_LARGE, message);
     }
 
     /**
@@ -437,7 +629,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx payloadTooLarge(String message, Object... args) {
-        return payloadTooLarge().message(message, args).build();
+        return of(PAYLOAD_TOO_LARGE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 413 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx payloadTooLarge(ExTemplate template, Object... args) {
+        return of(PAYLOAD_TOO_LARGE, template, args);
     }
 
     /**
@@ -445,7 +648,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder uriTooLong() {
-        return new Builder().statusCode(URI_TOO_LONG).code(CLIENT_ERROR);
+        return of(URI_TOO_LONG);
     }
 
     /**
@@ -454,7 +657,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx uriTooLong(String message) {
-        return uriTooLong().message(message).build();
+        return of(URI_TOO_LONG, message);
     }
 
     /**
@@ -464,7 +667,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx uriTooLong(String message, Object... args) {
-        return uriTooLong().message(message, args).build();
+        return of(URI_TOO_LONG, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 414 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx uriTooLong(ExTemplate template, Object... args) {
+        return of(URI_TOO_LONG, template, args);
     }
 
     /**
@@ -472,7 +686,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder unsupportedMediaType() {
-        return new Builder().statusCode(UNSUPPORTED_MEDIA_TYPE).code(CLIENT_ERROR);
+        return of(UNSUPPORTED_MEDIA_TYPE);
     }
 
     /**
@@ -481,7 +695,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unsupportedMediaType(String message) {
-        return unsupportedMediaType().message(message).build();
+        return of(UNSUPPORTED_MEDIA_TYPE, message);
     }
 
     /**
@@ -491,7 +705,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unsupportedMediaType(String message, Object... args) {
-        return unsupportedMediaType().message(message, args).build();
+        return of(UNSUPPORTED_MEDIA_TYPE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 415 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx unsupportedMediaType(ExTemplate template, Object... args) {
+        return of(UNSUPPORTED_MEDIA_TYPE, template, args);
     }
 
     /**
@@ -499,7 +724,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder rangeNotSatisfiable() {
-        return new Builder().statusCode(RANGE_NOT_SATISFIABLE).code(CLIENT_ERROR);
+        return of(RANGE_NOT_SATISFIABLE);
     }
 
     /**
@@ -508,7 +733,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx rangeNotSatisfiable(String message) {
-        return rangeNotSatisfiable().message(message).build();
+        return of(RANGE_NOT_SATISFIABLE, message);
     }
 
     /**
@@ -518,7 +743,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx rangeNotSatisfiable(String message, Object... args) {
-        return rangeNotSatisfiable().message(message, args).build();
+        return of(RANGE_NOT_SATISFIABLE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 416 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx rangeNotSatisfiable(ExTemplate template, Object... args) {
+        return of(RANGE_NOT_SATISFIABLE, template, args);
     }
 
     /**
@@ -526,7 +762,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder expectationFailed() {
-        return new Builder().statusCode(EXPECTATION_FAILED).code(CLIENT_ERROR);
+        return of(EXPECTATION_FAILED);
     }
 
     /**
@@ -535,7 +771,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx expectationFailed(String message) {
-        return expectationFailed().message(message).build();
+        return of(EXPECTATION_FAILED, message);
     }
 
     /**
@@ -545,7 +781,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx expectationFailed(String message, Object... args) {
-        return expectationFailed().message(message, args).build();
+        return of(EXPECTATION_FAILED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 417 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx expectationFailed(ExTemplate template, Object... args) {
+        return of(EXPECTATION_FAILED, template, args);
     }
 
     /**
@@ -553,7 +800,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder teapot() {
-        return new Builder().statusCode(TEAPOT).code(CLIENT_ERROR);
+        return of(TEAPOT);
     }
 
     /**
@@ -562,7 +809,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx teapot(String message) {
-        return teapot().message(message).build();
+        return of(TEAPOT, message);
     }
 
     /**
@@ -572,7 +819,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx teapot(String message, Object... args) {
-        return teapot().message(message, args).build();
+        return of(TEAPOT, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 418 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx teapot(ExTemplate template, Object... args) {
+        return of(TEAPOT, template, args);
     }
 
     /**
@@ -580,7 +838,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder misdirectedRequest() {
-        return new Builder().statusCode(MISDIRECTED_REQUEST).code(CLIENT_ERROR);
+        return of(MISDIRECTED_REQUEST);
     }
 
     /**
@@ -589,7 +847,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx misdirectedRequest(String message) {
-        return misdirectedRequest().message(message).build();
+        return of(MISDIRECTED_REQUEST, message);
     }
 
     /**
@@ -599,7 +857,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx misdirectedRequest(String message, Object... args) {
-        return misdirectedRequest().message(message, args).build();
+        return of(MISDIRECTED_REQUEST, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 421 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx misdirectedRequest(ExTemplate template, Object... args) {
+        return of(MISDIRECTED_REQUEST, template, args);
     }
 
     /**
@@ -607,7 +876,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder unprocessableEntity() {
-        return new Builder().statusCode(UNPROCESSABLE_ENTITY).code(CLIENT_ERROR);
+        return of(UNPROCESSABLE_ENTITY);
     }
 
     /**
@@ -616,7 +885,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unprocessableEntity(String message) {
-        return unprocessableEntity().message(message).build();
+        return of(UNPROCESSABLE_ENTITY, message);
     }
 
     /**
@@ -626,7 +895,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unprocessableEntity(String message, Object... args) {
-        return unprocessableEntity().message(message, args).build();
+        return of(UNPROCESSABLE_ENTITY, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 422 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx unprocessableEntity(ExTemplate template, Object... args) {
+        return of(UNPROCESSABLE_ENTITY, template, args);
     }
 
     /**
@@ -634,7 +914,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder locked() {
-        return new Builder().statusCode(LOCKED).code(CLIENT_ERROR);
+        return of(LOCKED);
     }
 
     /**
@@ -643,7 +923,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx locked(String message) {
-        return locked().message(message).build();
+        return of(LOCKED, message);
     }
 
     /**
@@ -653,7 +933,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx locked(String message, Object... args) {
-        return locked().message(message, args).build();
+        return of(LOCKED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 423 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx locked(ExTemplate template, Object... args) {
+        return of(LOCKED, template, args);
     }
 
     /**
@@ -661,7 +952,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder failedDependency() {
-        return new Builder().statusCode(FAILED_DEPENDENCY).code(CLIENT_ERROR);
+        return of(FAILED_DEPENDENCY);
     }
 
     /**
@@ -670,7 +961,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx failedDependency(String message) {
-        return failedDependency().message(message).build();
+        return of(FAILED_DEPENDENCY, message);
     }
 
     /**
@@ -680,7 +971,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx failedDependency(String message, Object... args) {
-        return failedDependency().message(message, args).build();
+        return of(FAILED_DEPENDENCY, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 424 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx failedDependency(ExTemplate template, Object... args) {
+        return of(FAILED_DEPENDENCY, template, args);
     }
 
     /**
@@ -688,7 +990,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder tooEarly() {
-        return new Builder().statusCode(TOO_EARLY).code(CLIENT_ERROR);
+        return of(TOO_EARLY);
     }
 
     /**
@@ -697,7 +999,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx tooEarly(String message) {
-        return tooEarly().message(message).build();
+        return of(TOO_EARLY, message);
     }
 
     /**
@@ -707,7 +1009,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx tooEarly(String message, Object... args) {
-        return tooEarly().message(message, args).build();
+        return of(TOO_EARLY, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 425 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx tooEarly(ExTemplate template, Object... args) {
+        return of(TOO_EARLY, template, args);
     }
 
     /**
@@ -715,7 +1028,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder upgradeRequired() {
-        return new Builder().statusCode(UPGRADE_REQUIRED).code(CLIENT_ERROR);
+        return of(UPGRADE_REQUIRED);
     }
 
     /**
@@ -724,7 +1037,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx upgradeRequired(String message) {
-        return upgradeRequired().message(message).build();
+        return of(UPGRADE_REQUIRED, message);
     }
 
     /**
@@ -734,7 +1047,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx upgradeRequired(String message, Object... args) {
-        return upgradeRequired().message(message, args).build();
+        return of(UPGRADE_REQUIRED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 426 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx upgradeRequired(ExTemplate template, Object... args) {
+        return of(UPGRADE_REQUIRED, template, args);
     }
 
     /**
@@ -742,7 +1066,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder preconditionRequired() {
-        return new Builder().statusCode(PRECONDITION_REQUIRED).code(CLIENT_ERROR);
+        return of(PRECONDITION_REQUIRED);
     }
 
     /**
@@ -751,7 +1075,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx preconditionRequired(String message) {
-        return preconditionRequired().message(message).build();
+        return of(PRECONDITION_REQUIRED, message);
     }
 
     /**
@@ -761,7 +1085,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx preconditionRequired(String message, Object... args) {
-        return preconditionRequired().message(message, args).build();
+        return of(PRECONDITION_REQUIRED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 428 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx preconditionRequired(ExTemplate template, Object... args) {
+        return of(PRECONDITION_REQUIRED, template, args);
     }
 
     /**
@@ -769,7 +1104,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder tooManyRequests() {
-        return new Builder().statusCode(TOO_MANY_REQUESTS).code(CLIENT_ERROR);
+        return of(TOO_MANY_REQUESTS);
     }
 
     /**
@@ -778,7 +1113,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx tooManyRequests(String message) {
-        return tooManyRequests().message(message).build();
+        return of(TOO_MANY_REQUESTS, message);
     }
 
     /**
@@ -788,7 +1123,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx tooManyRequests(String message, Object... args) {
-        return tooManyRequests().message(message, args).build();
+        return of(TOO_MANY_REQUESTS, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 429 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx tooManyRequests(ExTemplate template, Object... args) {
+        return of(TOO_MANY_REQUESTS, template, args);
     }
 
     /**
@@ -796,7 +1142,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder requestHeaderFieldTooLarge() {
-        return new Builder().statusCode(REQUEST_HEADER_FIELDS_TOO_LARGE).code(CLIENT_ERROR);
+        return of(REQUEST_HEADER_FIELDS_TOO_LARGE);
     }
 
     /**
@@ -805,7 +1151,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx requestHeaderFieldTooLarge(String message) {
-        return requestHeaderFieldTooLarge().message(message).build();
+        return of(REQUEST_HEADER_FIELDS_TOO_LARGE, message);
     }
 
     /**
@@ -815,7 +1161,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx requestHeaderFieldTooLarge(String message, Object... args) {
-        return requestHeaderFieldTooLarge().message(message, args).build();
+        return of(REQUEST_HEADER_FIELDS_TOO_LARGE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 431 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx requestHeaderFieldTooLarge(ExTemplate template, Object... args) {
+        return of(REQUEST_HEADER_FIELDS_TOO_LARGE, template, args);
     }
 
     /**
@@ -823,7 +1180,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder unavailableForLegalReasons() {
-        return new Builder().statusCode(UNAVAILABLE_FOR_LEGAL_REASONS).code(CLIENT_ERROR);
+        return of(UNAVAILABLE_FOR_LEGAL_REASONS);
     }
 
     /**
@@ -832,7 +1189,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unavailableForLegalReasons(String message) {
-        return unavailableForLegalReasons().message(message).build();
+        return of(UNAVAILABLE_FOR_LEGAL_REASONS, message);
     }
 
     /**
@@ -842,7 +1199,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx unavailableForLegalReasons(String message, Object... args) {
-        return unavailableForLegalReasons().message(message, args).build();
+        return of(UNAVAILABLE_FOR_LEGAL_REASONS, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 451 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx unavailableForLegalReasons(ExTemplate template, Object... args) {
+        return of(UNAVAILABLE_FOR_LEGAL_REASONS, template, args);
     }
 
     // Factory methods for the server errors.
@@ -852,7 +1220,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder internalServerError() {
-        return new Builder().statusCode(INTERNAL_SERVER_ERROR).code(SERVER_ERROR);
+        return of(INTERNAL_SERVER_ERROR);
     }
 
     /**
@@ -861,7 +1229,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx internalServerError(String message) {
-        return internalServerError().message(message).build();
+        return of(INTERNAL_SERVER_ERROR, message);
     }
 
     /**
@@ -871,7 +1239,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx internalServerError(String message, Object... args) {
-        return internalServerError().message(message, args).build();
+        return of(INTERNAL_SERVER_ERROR, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 500 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx internalServerError(ExTemplate template, Object... args) {
+        return of(INTERNAL_SERVER_ERROR, template, args);
     }
 
     /**
@@ -879,7 +1258,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder notImplemented() {
-        return new Builder().statusCode(NOT_IMPLEMENTED).code(SERVER_ERROR);
+        return of(NOT_IMPLEMENTED);
     }
 
     /**
@@ -888,7 +1267,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notImplemented(String message) {
-        return notImplemented().message(message).build();
+        return of(NOT_IMPLEMENTED, message);
     }
 
     /**
@@ -898,7 +1277,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notImplemented(String message, Object... args) {
-        return notImplemented().message(message, args).build();
+        return of(NOT_IMPLEMENTED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 501 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx notImplemented(ExTemplate template, Object... args) {
+        return of(NOT_IMPLEMENTED, template, args);
     }
 
     /**
@@ -906,7 +1296,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder badGateway() {
-        return new Builder().statusCode(BAD_GATEWAY).code(SERVER_ERROR);
+        return of(BAD_GATEWAY);
     }
 
     /**
@@ -915,7 +1305,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx badGateway(String message) {
-        return badGateway().message(message).build();
+        return of(BAD_GATEWAY, message);
     }
 
     /**
@@ -925,7 +1315,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx badGateway(String message, Object... args) {
-        return badGateway().message(message, args).build();
+        return of(BAD_GATEWAY, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 502 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx badGateway(ExTemplate template, Object... args) {
+        return of(BAD_GATEWAY, template, args);
     }
 
     /**
@@ -933,7 +1334,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder serviceUnavailable() {
-        return new Builder().statusCode(SERVICE_UNAVAILABLE).code(SERVER_ERROR);
+        return of(SERVICE_UNAVAILABLE);
     }
 
     /**
@@ -942,7 +1343,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx serviceUnavailable(String message) {
-        return serviceUnavailable().message(message).build();
+        return of(SERVICE_UNAVAILABLE, message);
     }
 
     /**
@@ -952,7 +1353,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx serviceUnavailable(String message, Object... args) {
-        return serviceUnavailable().message(message, args).build();
+        return of(SERVICE_UNAVAILABLE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 503 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx serviceUnavailable(ExTemplate template, Object... args) {
+        return of(SERVICE_UNAVAILABLE, template, args);
     }
 
     /**
@@ -960,7 +1372,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder gatewayTimeout() {
-        return new Builder().statusCode(GATEWAY_TIMEOUT).code(SERVER_ERROR);
+        return of(GATEWAY_TIMEOUT);
     }
 
     /**
@@ -969,7 +1381,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx gatewayTimeout(String message) {
-        return gatewayTimeout().message(message).build();
+        return of(GATEWAY_TIMEOUT, message);
     }
 
     /**
@@ -979,7 +1391,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx gatewayTimeout(String message, Object... args) {
-        return gatewayTimeout().message(message, args).build();
+        return of(GATEWAY_TIMEOUT, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 503 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx gatewayTimeout(ExTemplate template, Object... args) {
+        return of(GATEWAY_TIMEOUT, template, args);
     }
 
     /**
@@ -987,7 +1410,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder httpVersionNotSupported() {
-        return new Builder().statusCode(HTTP_VERSION_NOT_SUPPORTED).code(SERVER_ERROR);
+        return of(HTTP_VERSION_NOT_SUPPORTED);
     }
 
     /**
@@ -996,7 +1419,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx httpVersionNotSupported(String message) {
-        return httpVersionNotSupported().message(message).build();
+        return of(HTTP_VERSION_NOT_SUPPORTED, message);
     }
 
     /**
@@ -1006,7 +1429,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx httpVersionNotSupported(String message, Object...args) {
-        return httpVersionNotSupported().message(message, args).build();
+        return of(HTTP_VERSION_NOT_SUPPORTED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 505 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx httpVersionNotSupported(ExTemplate template, Object... args) {
+        return of(HTTP_VERSION_NOT_SUPPORTED, template, args);
     }
 
     /**
@@ -1014,7 +1448,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder variantAlsoNegotiates() {
-        return new Builder().statusCode(VARIANT_ALSO_NEGOTIATES).code(SERVER_ERROR);
+        return of(VARIANT_ALSO_NEGOTIATES);
     }
 
     /**
@@ -1023,7 +1457,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx variantAlsoNegotiates(String message) {
-        return variantAlsoNegotiates().message(message).build();
+        return of(VARIANT_ALSO_NEGOTIATES, message);
     }
 
     /**
@@ -1033,7 +1467,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx variantAlsoNegotiates(String message, Object... args) {
-        return variantAlsoNegotiates().message(message, args).build();
+        return of(VARIANT_ALSO_NEGOTIATES, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 506 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx variantAlsoNegotiates(ExTemplate template, Object... args) {
+        return of(VARIANT_ALSO_NEGOTIATES, template, args);
     }
 
     /**
@@ -1041,7 +1486,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder insufficientStorage() {
-        return new Builder().statusCode(INSUFFICIENT_STORAGE).code(SERVER_ERROR);
+        return of(INSUFFICIENT_STORAGE);
     }
 
     /**
@@ -1050,7 +1495,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx insufficientStorage(String message) {
-        return insufficientStorage().message(message).build();
+        return of(INSUFFICIENT_STORAGE, message);
     }
 
     /**
@@ -1060,7 +1505,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx insufficientStorage(String message, Object... args) {
-        return insufficientStorage().message(message, args).build();
+        return of(INSUFFICIENT_STORAGE, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 507 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx insufficientStorage(ExTemplate template, Object... args) {
+        return of(INSUFFICIENT_STORAGE, template, args);
     }
 
     /**
@@ -1068,7 +1524,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder loopDetected() {
-        return new Builder().statusCode(LOOP_DETECTED).code(SERVER_ERROR);
+        return of(LOOP_DETECTED);
     }
 
     /**
@@ -1077,7 +1533,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx loopDetected(String message) {
-        return loopDetected().message(message).build();
+        return of(LOOP_DETECTED, message);
     }
 
     /**
@@ -1087,7 +1543,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx loopDetected(String message, Object... args) {
-        return loopDetected().message(message, args).build();
+        return of(LOOP_DETECTED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 508 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx loopDetected(ExTemplate template, Object... args) {
+        return of(LOOP_DETECTED, template, args);
     }
 
     /**
@@ -1095,7 +1562,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder notExtended() {
-        return new Builder().statusCode(NOT_EXTENDED).code(SERVER_ERROR);
+        return of(NOT_EXTENDED);
     }
 
     /**
@@ -1104,7 +1571,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notExtended(String message) {
-        return notExtended().message(message).build();
+        return of(NOT_EXTENDED, message);
     }
 
     /**
@@ -1114,7 +1581,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx notExtended(String message, Object... args) {
-        return notExtended().message(message, args).build();
+        return of(NOT_EXTENDED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 510 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx notExtended(ExTemplate template, Object... args) {
+        return of(NOT_EXTENDED, template, args);
     }
 
     /**
@@ -1122,7 +1600,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link Builder} class.
      */
     public static Builder networkAuthenticationRequired() {
-        return new Builder().statusCode(NETWORK_AUTHENTICATION_REQUIRED).code(SERVER_ERROR);
+        return of(NETWORK_AUTHENTICATION_REQUIRED);
     }
 
     /**
@@ -1131,7 +1609,7 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx networkAuthenticationRequired(String message) {
-        return networkAuthenticationRequired().message(message).build();
+        return of(NETWORK_AUTHENTICATION_REQUIRED, message);
     }
 
     /**
@@ -1141,7 +1619,18 @@ public final class HttpEx extends Ex {
      * @return An instance of the {@link HttpEx} class.
      */
     public static HttpEx networkAuthenticationRequired(String message, Object... args) {
-        return networkAuthenticationRequired().message(message, args).build();
+        return of(NETWORK_AUTHENTICATION_REQUIRED, message, args);
+    }
+
+    /**
+     * Creates an instance of the {@link HttpEx} class for the 511 HTTP status response code.
+     * The message is rendered from a template.
+     * @param template a precompiled message template
+     * @param args template arguments
+     * @return An instance of the {@link HttpEx} class.
+     */
+    public static HttpEx networkAuthenticationRequired(ExTemplate template, Object... args) {
+        return of(NETWORK_AUTHENTICATION_REQUIRED, template, args);
     }
 
     /**
@@ -1152,6 +1641,14 @@ public final class HttpEx extends Ex {
         return statusCode;
     }
 
+    /**
+     * Returns the metadata of the HTTP status: reason phrase, family, etc.
+     * @return an instance of {@link HttpExStatus}.
+     */
+    public HttpExStatus getStatus() {
+        return HttpExStatus.of(statusCode);
+    }
+
     public static final class Builder extends Ex.Builder<Builder> {
         private int statusCode;
 
@@ -1160,15 +1657,28 @@ public final class HttpEx extends Ex {
             return this;
         }
 
+        @Override
+        int status() {
+            return statusCode;
+        }
+
         public HttpEx build() {
             return new HttpEx(this);
         }
     }
 
     @Override
-    public String toString() {
-        return "HttpException{" +
-            "statusCode=" + statusCode +
-            "} " + super.toString();
+    protected void appendFields(final Appendable out) throws IOException {
+        out.append("HttpException{statusCode=");
+        ExFormat.appendInt(out, statusCode);
+        out.append("} ");
+        super.appendFields(out);
+    }
+
+    @Override
+    protected void appendJsonFields(final Appendable out) throws IOException {
+        super.appendJsonFields(out);
+        out.append(",\"status\":");
+        ExFormat.appendInt(out, statusCode);
     }
 }
@@ -0,0 +1,157 @@
+package su.piskun.exlib.core;
+
+/**
+ * Metadata of an HTTP error status: reason phrase, family, retryability and default error code.
+ * <p>
+ *     The metadata is kept in a table indexed by the status code, so the lookup is a single array access.
+ *     All the statuses from 400 to 599 are available, the unassigned ones get a generic reason phrase.
+ * </p>
+ */
+public final class HttpExStatus {
+
+    /**
+     * The class of an HTTP error status.
+     */
+    public enum Family {
+        /**
+         * 4xx statuses.
+         */
+        CLIENT_ERROR,
+
+        /**
+         * 5xx statuses.
+         */
+        SERVER_ERROR
+    }
+
+    private static final int MIN_STATUS = 400;
+    private static final int MAX_STATUS = 599;
+    private static final HttpExStatus[] TABLE = new HttpExStatus[MAX_STATUS + 1];
+
+    static {
+        register(HttpEx.BAD_REQUEST, "Bad Request", false);
+        register(HttpEx.UNAUTHORIZED, "Unauthorized", false);
+        register(HttpEx.PAYMENT_REQUIRED, "Payment Required", false);
+        register(HttpEx.FORBIDDEN, "Forbidden", false);
+        register(HttpEx.NOT_FOUND, "Not Found", false);
+        register(HttpEx.METHOD_NOT_ALLOWED, "Method Not Allowed", false);
+        register(HttpEx.NOT_ACCEPTABLE, "Not Acceptable", false);
+        register(HttpEx.PROXY_AUTHENTICATION_REQUIRED, "Proxy Authentication Required", false);
+        register(HttpEx.REQUEST_TIMEOUT, "Request Timeout", true);
+        register(HttpEx.CONFLICT, "Conflict", false);
+        register(HttpEx.GONE, "Gone", false);
+        register(HttpEx.LENGTH_REQUIRED, "Length Required", false);
+        register(HttpEx.PRECONDITION_FAILED, "Precondition Failed", false);
+        register(HttpEx.PAYLOAD_TOO_LARGE, "Payload Too Large", false);
+        register(HttpEx.URI_TOO_LONG, "URI Too Long", false);
+        register(HttpEx.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type", false);
+        register(HttpEx.RANGE_NOT_SATISFIABLE, "Range Not Satisfiable", false);
+        register(HttpEx.EXPECTATION_FAILED, "Expectation Failed", false);
+        register(HttpEx.TEAPOT, "I'm a teapot", false);
+        register(HttpEx.MISDIRECTED_REQUEST, "Misdirected Request", true);
+        register(HttpEx.UNPROCESSABLE_ENTITY, "Unprocessable Entity", false);
+        register(HttpEx.LOCKED, "Locked", false);
+        register(HttpEx.FAILED_DEPENDENCY, "Failed Dependency", false);
+        register(HttpEx.TOO_EARLY, "Too Early", true);
+        register(HttpEx.UPGRADE_REQUIRED, "Upgrade Required", false);
+        register(HttpEx.PRECONDITION_REQUIRED, "Precondition Required", false);
+        register(HttpEx.TOO_MANY_REQUESTS, "Too Many Requests", true);
+        register(HttpEx.REQUEST_HEADER_FIELDS_TOO_LARGE, "Request Header Fields Too Large", false);
+        register(HttpEx.UNAVAILABLE_FOR_LEGAL_REASONS, "Unavailable For Legal Reasons", false);
+
+        register(HttpEx.INTERNAL_SERVER_ERROR, "Internal Server Error", false);
+        register(HttpEx.NOT_IMPLEMENTED, "Not Implemented", false);
+        register(HttpEx.BAD_GATEWAY, "Bad Gateway", true);
+        register(HttpEx.SERVICE_UNAVAILABLE, "Service Unavailable", true);
+        register(HttpEx.GATEWAY_TIMEOUT, "Gateway Timeout", true);
+        register(HttpEx.HTTP_VERSION_NOT_SUPPORTED, "HTTP Version Not Supported", false);
+        register(HttpEx.VARIANT_ALSO_NEGOTIATES, "Variant Also Negotiates", false);
+        register(HttpEx.INSUFFICIENT_STORAGE, "Insufficient Storage", false);
+        register(HttpEx.LOOP_DETECTED, "Loop Detected", false);
+        register(HttpEx.NOT_EXTENDED, "Not Extended", false);
+        register(HttpEx.NETWORK_AUTHENTICATION_REQUIRED, "Network Authentication Required", false);
+
+        for (int status = MIN_STATUS; status <= MAX_STATUS; status++) {
+            if (TABLE[status] == null) {
+                register(status, status < 500 ? "Client Error" : "Server Error", false);
+            }
+        }
+    }
+
+    private final int status;
+    private final String reasonPhrase;
+    private final Family family;
+    private final boolean retryable;
+    private final String defaultCode;
+
+    private HttpExStatus(final int status, final String reasonPhrase, final boolean retryable) {
+        this.status = status;
+        this.reasonPhrase = reasonPhrase;
+        this.family = status < 500 ? Family.CLIENT_ERROR : Family.SERVER_ERROR;
+        this.retryable = retryable;
+        this.defaultCode = family == Family.CLIENT_ERROR ? HttpEx.CLIENT_ERROR : HttpEx.SERVER_ERROR;
+    }
+
+    private static void register(final int status, final String reasonPhrase, final boolean retryable) {
+        TABLE[status] = new HttpExStatus(status, reasonPhrase, retryable);
+    }
+
+    /**
+     * Returns the metadata of an HTTP error status.
+     * @param status an HTTP status code from 400 to 599.
+     * @return an instance of {@link HttpExStatus}.
+     * @throws IllegalArgumentException if the status is not an error status.
+     */
+    public static HttpExStatus of(final int status) {
+        if (status < MIN_STATUS || status > MAX_STATUS) {
+            throw new IllegalArgumentException("Not an HTTP error status: " + status);
+        }
+        return TABLE[status];
+    }
+
+    /**
+     * Returns the HTTP status code.
+     * @return HTTP status code (e.g. 404).
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the standard reason phrase of the status.
+     * @return reason phrase (e.g. "Not Found").
+     */
+    public String getReasonPhrase() {
+        return reasonPhrase;
+    }
+
+    /**
+     * Returns the class of the status.
+     * @return {@link Family#CLIENT_ERROR} for 4xx, {@link Family#SERVER_ERROR} for 5xx statuses.
+     */
+    public Family getFamily() {
+        return family;
+    }
+
+    /**
+     * Whether a request that failed with this status may succeed if it's repeated later
+     * (e.g. 429, 503), without any changes.
+     * @return {@code true} if the status is retryable.
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Returns the error code that is used by default for the status.
+     * @return {@link HttpEx#CLIENT_ERROR} or {@link HttpEx#SERVER_ERROR}.
+     */
+    public String getDefaultCode() {
+        return defaultCode;
+    }
+
+    @Override
+    public String toString() {
+        return status + " " + reasonPhrase;
+    }
+}
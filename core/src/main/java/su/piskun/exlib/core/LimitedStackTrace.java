@@ -0,0 +1,30 @@
+package su.piskun.exlib.core;
+
+/**
+ * A depth-limited stack trace that is recorded by {@link StackWalker}.
+ */
+final class LimitedStackTrace {
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final String CONSTRUCTOR = "<init>";
+
+    private LimitedStackTrace() { }
+
+    /**
+     * Records up to {@code depth} frames of the current thread,
+     * skipping the frames of the exception constructors (the same way the JVM does).
+     */
+    static StackTraceElement[] capture(final int depth) {
+        return WALKER.walk(stream -> stream
+            .dropWhile(LimitedStackTrace::isConstructionFrame)
+            .limit(depth)
+            .map(StackWalker.StackFrame::toStackTraceElement)
+            .toArray(StackTraceElement[]::new));
+    }
+
+    private static boolean isConstructionFrame(final StackWalker.StackFrame frame) {
+        final Class<?> declaringClass = frame.getDeclaringClass();
+        return declaringClass == LimitedStackTrace.class
+            || Throwable.class.isAssignableFrom(declaringClass) && CONSTRUCTOR.equals(frame.getMethodName());
+    }
+}
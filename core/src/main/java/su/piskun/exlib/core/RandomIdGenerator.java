@@ -0,0 +1,22 @@
+package su.piskun.exlib.core;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version 4 UUIDs based on the {@link ThreadLocalRandom}.
+ */
+final class RandomIdGenerator implements ExIdGenerator {
+
+    static final RandomIdGenerator INSTANCE = new RandomIdGenerator();
+
+    private RandomIdGenerator() {}
+
+    @Override
+    public UUID generate() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long mostSigBits = random.nextLong() & ~0xF000L | 0x4000L;
+        final long leastSigBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
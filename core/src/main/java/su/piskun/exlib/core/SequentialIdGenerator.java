@@ -0,0 +1,45 @@
+package su.piskun.exlib.core;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version 8 (custom) UUIDs: a node prefix followed by a counter.
+ * <p>
+ *     Every thread takes a block of {@value #BLOCK_SIZE} values from the shared counter at once,
+ *     so the shared counter is updated once per {@value #BLOCK_SIZE} identifiers.
+ * </p>
+ */
+final class SequentialIdGenerator implements ExIdGenerator {
+
+    static final SequentialIdGenerator INSTANCE = new SequentialIdGenerator(ThreadLocalRandom.current().nextLong());
+
+    private static final int BLOCK_SIZE = 1024;
+    private static final long COUNTER_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final long mostSigBits;
+    private final AtomicLong counter = new AtomicLong();
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    SequentialIdGenerator(final long node) {
+        // 60 bits of the node around the version bits (xxxxxxxx-xxxx-8xxx).
+        this.mostSigBits = (node << 4) & 0xFFFFFFFFFFFF0000L | 0x8000L | node & 0x0FFFL;
+    }
+
+    @Override
+    public UUID generate() {
+        final Block block = blocks.get();
+        if (block.next == block.limit) {
+            block.next = counter.getAndAdd(BLOCK_SIZE);
+            block.limit = block.next + BLOCK_SIZE;
+        }
+        final long value = block.next++;
+        return new UUID(mostSigBits, value & COUNTER_MASK | 0x8000000000000000L);
+    }
+
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+}
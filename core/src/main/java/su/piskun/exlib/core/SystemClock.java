@@ -0,0 +1,24 @@
+package su.piskun.exlib.core;
+
+import java.time.Instant;
+
+/**
+ * The system clock based on {@link Instant#now()}.
+ */
+final class SystemClock implements ExClock {
+
+    static final SystemClock INSTANCE = new SystemClock();
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private SystemClock() {}
+
+    static long epochNanos(final Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    @Override
+    public long epochNanos() {
+        return epochNanos(Instant.now());
+    }
+}
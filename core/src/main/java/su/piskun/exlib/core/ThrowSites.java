@@ -0,0 +1,48 @@
+package su.piskun.exlib.core;
+
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Finds the throw site of an exception that is being created: the first stack frame that is not
+ * an exception, an exception builder or a class of this library, within the first {@value #MAX_DEPTH} frames.
+ * <p>
+ *     The library classes are told by their package, since the application and the library
+ *     can share a jar (and so a protection domain) when they are shaded into one.
+ * </p>
+ */
+final class ThrowSites {
+
+    static final int MAX_DEPTH = 32;
+
+    private static final StackWalker WALKER =
+        StackWalker.getInstance(Set.of(StackWalker.Option.RETAIN_CLASS_REFERENCE), MAX_DEPTH);
+
+    static final String LIBRARY_PACKAGE = "su.piskun.exlib.";
+
+    private static final ClassValue<Boolean> SKIPPED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return Throwable.class.isAssignableFrom(type)
+                || Ex.Builder.class.isAssignableFrom(type)
+                || type.getName().startsWith(LIBRARY_PACKAGE);
+        }
+    };
+
+    private static final Function<Stream<StackWalker.StackFrame>, StackWalker.StackFrame> FIND = frames -> frames
+        .limit(MAX_DEPTH)
+        .filter(frame -> !SKIPPED.get(frame.getDeclaringClass()))
+        .findFirst()
+        .orElse(null);
+
+    private ThrowSites() {}
+
+    /**
+     * Returns the throw site of the current thread.
+     * @return the stack frame, or {@code null} if it's deeper than {@value #MAX_DEPTH} frames.
+     */
+    static StackWalker.StackFrame find() {
+        return WALKER.walk(FIND);
+    }
+}
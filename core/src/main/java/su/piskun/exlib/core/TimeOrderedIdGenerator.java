@@ -0,0 +1,26 @@
+package su.piskun.exlib.core;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version 7 UUIDs: 48 bits of the Unix timestamp in milliseconds, followed by random bits.
+ * The timestamp is taken from the configured {@link ExSettings#getClock() clock}.
+ */
+final class TimeOrderedIdGenerator implements ExIdGenerator {
+
+    static final TimeOrderedIdGenerator INSTANCE = new TimeOrderedIdGenerator();
+
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    private TimeOrderedIdGenerator() {}
+
+    @Override
+    public UUID generate() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long epochMillis = ExSettings.getClock().epochNanos() / NANOS_PER_MILLI;
+        final long mostSigBits = epochMillis << 16 | 0x7000L | random.nextInt(0x1000);
+        final long leastSigBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
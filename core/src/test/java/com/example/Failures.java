@@ -0,0 +1,47 @@
+package com.example;
+
+import su.piskun.exlib.core.Ex;
+import su.piskun.exlib.core.ExFailure;
+import su.piskun.exlib.core.HttpEx;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates exceptions from an application package, since the frames of the library packages are not throw sites.
+ */
+public final class Failures {
+
+    private Failures() {}
+
+    public static HttpEx notFound() {
+        return HttpEx.notFound().message("message").stackless().build();
+    }
+
+    public static HttpEx userNotFound() {
+        return HttpEx.notFound("user not found");
+    }
+
+    public static HttpEx orderNotFound() {
+        return HttpEx.notFound("order not found");
+    }
+
+    public static HttpEx badRequest() {
+        return HttpEx.badRequest("message");
+    }
+
+    public static HttpEx conflict() {
+        return HttpEx.conflict("message");
+    }
+
+    public static HttpEx forbidden() {
+        return HttpEx.forbidden("message");
+    }
+
+    public static Ex fromFailure() {
+        return ExFailure.http(HttpEx.NOT_FOUND, "message").toEx();
+    }
+
+    public static Ex call(final Supplier<? extends Ex> library) {
+        return library.get();
+    }
+}
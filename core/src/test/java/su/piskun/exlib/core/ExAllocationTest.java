@@ -0,0 +1,75 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import su.piskun.exlib.test.Allocations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the number of bytes allocated per exception (see {@link Allocations}).
+ * The exceptions are stackless, since the stack trace size depends on the caller.
+ */
+class ExAllocationTest {
+
+    // The exception, the builder and the deferred message with its arguments (232 bytes on JDK 17).
+    private static final long EX_AS_BUDGET = 256;
+    // The exception, the builder, the context array and the context (296 bytes on JDK 17).
+    private static final long HTTP_EX_CONTEXT_BUDGET = 320;
+    private static final long CONSTANT_THROW_BUDGET = 0;
+
+    private static final HttpEx CONSTANT = HttpEx.notFound()
+        .message("resource not found")
+        .constant()
+        .build();
+
+    private Object sink;
+
+    @BeforeEach
+    void setup() {
+        ExSettings.setDefaultStackTrace(ExStackTrace.NONE);
+    }
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void exAs() throws Exception {
+        // When.
+        long bytes = Allocations.allocatedBytes(() -> sink = Ex.as("user with id %s not found", "42"));
+
+        // Then.
+        assertThat(bytes).isLessThanOrEqualTo(EX_AS_BUDGET);
+    }
+
+    @Test
+    void httpExWithContext() throws Exception {
+        // When.
+        long bytes = Allocations.allocatedBytes(() -> sink = HttpEx.badRequest()
+            .message("invalid request")
+            .context("field", "email")
+            .context("reason", "format")
+            .build());
+
+        // Then.
+        assertThat(bytes).isLessThanOrEqualTo(HTTP_EX_CONTEXT_BUDGET);
+    }
+
+    @Test
+    void throwConstant() throws Exception {
+        // When.
+        long bytes = Allocations.allocatedBytes(() -> {
+            try {
+                throw CONSTANT;
+            } catch (HttpEx e) {
+                sink = e;
+            }
+        });
+
+        // Then.
+        assertThat(bytes).isLessThanOrEqualTo(CONSTANT_THROW_BUDGET);
+    }
+}
@@ -0,0 +1,127 @@
+package su.piskun.exlib.core;
+
+import com.example.Failures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExCapturePolicyTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000_000L);
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void firstOccurrences() {
+        // Given.
+        ExSettings.setClock(now::get);
+        ExSettings.setCapturePolicy(new ExCapturePolicy(2, Duration.ofSeconds(1), 1));
+
+        // When.
+        List<HttpEx> notFound = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            notFound.add(Failures.userNotFound());
+        }
+        HttpEx badRequest = HttpEx.badRequest("message");
+        HttpEx explicit = HttpEx.notFound().message("message").stackTrace(ExStackTrace.FULL).build();
+        now.addAndGet(1_000_000_000L);
+        HttpEx nextWindow = HttpEx.notFound("message");
+
+        // Then.
+        // The first two are captured by the failure, the next two by its throw site.
+        assertThat(notFound).extracting(e -> e.getStackTrace().length > 0)
+            .containsExactly(true, true, true, true, false, false);
+        assertThat(badRequest.getStackTrace()).isNotEmpty();
+        assertThat(explicit.getStackTrace()).isNotEmpty();
+        assertThat(nextWindow.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void fingerprint() {
+        // Given.
+        ExSettings.setCapturePolicy(new ExCapturePolicy(1, Duration.ofMinutes(1), 1));
+
+        // When.
+        List<HttpEx> storm = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            storm.add(Failures.userNotFound());
+        }
+        HttpEx otherSite = Failures.orderNotFound();
+        HttpEx otherSiteAgain = Failures.orderNotFound();
+        HttpEx otherStatus = HttpEx.gone("message");
+        HttpEx otherCode = HttpEx.notFound().message("message").code("USER_NOT_FOUND").build();
+        Ex otherType = Ex.builder().message("message").code(HttpEx.CLIENT_ERROR).build();
+
+        // Then.
+        assertThat(storm).extracting(e -> e.getStackTrace().length > 0).containsExactly(true, true, false);
+        assertThat(otherSite.getStackTrace()).isNotEmpty();
+        assertThat(otherSiteAgain.getStackTrace()).isEmpty();
+        assertThat(otherStatus.getStackTrace()).isNotEmpty();
+        assertThat(otherCode.getStackTrace()).isNotEmpty();
+        assertThat(otherType.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void siteSampling() {
+        // Given.
+        ExSettings.setCapturePolicy(new ExCapturePolicy(1, Duration.ofMinutes(1)));
+        Failures.userNotFound();
+
+        // When.
+        int captured = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (Failures.orderNotFound().getStackTrace().length > 0) {
+                captured++;
+            }
+        }
+
+        // Then.
+        assertThat(captured).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCaptures() throws Exception {
+        // Given.
+        ExCapturePolicy sut = new ExCapturePolicy(100, Duration.ofMinutes(1));
+        AtomicLong captured = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+
+        // When.
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (sut.capture(42, 7)) {
+                        captured.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then.
+        assertThat(captured).hasValue(100);
+        assertThat(sut.capture(42, 8)).isTrue();
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> new ExCapturePolicy(-1, Duration.ofSeconds(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExCapturePolicy(1, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,57 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ExClockTest {
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void system() {
+        // Given.
+        Instant before = Instant.now();
+
+        // When.
+        Instant instant = ExClock.system().instant();
+
+        // Then.
+        assertThat(instant).isBetween(before, Instant.now());
+    }
+
+    @Test
+    void cached() throws InterruptedException {
+        // Given.
+        ExClock clock = ExClock.cached();
+        long first = clock.epochNanos();
+
+        // When.
+        Thread.sleep(50);
+
+        // Then.
+        assertThat(clock.instant()).isCloseTo(Instant.now(), within(1, ChronoUnit.SECONDS));
+        assertThat(clock.epochNanos()).isGreaterThan(first);
+        assertThat(clock.epochNanos() % 1_000_000).isZero();
+    }
+
+    @Test
+    void fixed() {
+        // Given.
+        Instant instant = Instant.parse("2022-08-02T16:20:51.724925378Z");
+        ExSettings.setClock(ExClock.fixed(instant));
+
+        // Then.
+        assertThat(ExSettings.getClock().instant()).isEqualTo(instant);
+        assertThat(Ex.as("message").getTimestamp()).isEqualTo(instant);
+        assertThat(HttpEx.notFound("message").getTimestamp()).isEqualTo(instant);
+    }
+}
@@ -0,0 +1,109 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExContextTest {
+
+    @Test
+    void builderContext() {
+        // Given.
+        Ex ex = Ex.builder()
+            .context("first", 1)
+            .context("second", null)
+            .context("first", "one")
+            .build();
+
+        // Then.
+        assertThat(ex.getContext())
+            .isInstanceOf(ExContext.class)
+            .hasSize(2)
+            .containsEntry("first", "one")
+            .containsEntry("second", null)
+            .isEqualTo(new HashMap<>() {{
+                put("first", "one");
+                put("second", null);
+            }});
+        assertThat(ex.getContext().keySet()).containsExactly("first", "second");
+    }
+
+    @Test
+    void builderContextIsCopiedOnWrite() {
+        // Given.
+        Ex.Builder<?> builder = Ex.builder().context("key", "value");
+        Ex first = builder.build();
+
+        // When.
+        Ex second = builder.context("key", "other").context("another", "value").build();
+
+        // Then.
+        assertThat(first.getContext()).isEqualTo(Map.of("key", "value"));
+        assertThat(second.getContext()).isEqualTo(Map.of("key", "other", "another", "value"));
+    }
+
+    @Test
+    void builderContextFromMap() {
+        // Given.
+        Map<String, Object> source = new HashMap<>(Map.of("key", "value"));
+
+        // When.
+        Ex ex = Ex.builder()
+            .context(source)
+            .context("another", "value")
+            .build();
+
+        // Then.
+        assertThat(source).isEqualTo(Map.of("key", "value"));
+        assertThat(ex.getContext()).isEqualTo(Map.of("key", "value", "another", "value"));
+    }
+
+    @Test
+    void largeContext() {
+        // Given.
+        Map<String, Object> source = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            source.put("key" + i, i);
+        }
+
+        // When.
+        ExContext context = ExContext.copyOf(source);
+
+        // Then.
+        assertThat(context).isEqualTo(source).hasSameHashCodeAs(source);
+        assertThat(context.keySet()).containsExactlyElementsOf(source.keySet());
+        for (int i = 0; i < 100; i++) {
+            assertThat(context.get("key" + i)).isEqualTo(i);
+        }
+        assertThat(context.get("key100")).isNull();
+        assertThat(context.containsKey(null)).isFalse();
+    }
+
+    @Test
+    void copyOfContext() {
+        // Given.
+        ExContext context = ExContext.copyOf(Map.of("key", "value"));
+
+        // Then.
+        assertThat(ExContext.copyOf(context)).isSameAs(context);
+        assertThat(context).hasToString("{key=value}");
+    }
+
+    @Test
+    void immutable() {
+        // Given.
+        Map<String, Object> context = Ex.builder().context("key", "value").build().getContext();
+
+        // Then.
+        assertThatThrownBy(() -> context.put("key", "other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> context.remove("key")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(context::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> context.entrySet().iterator().next().setValue("other"))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package su.piskun.exlib.core;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExCreatedEventTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void disabledByDefault() throws Exception {
+        // Given.
+        Path file = dir.resolve("disabled.jfr");
+
+        // When.
+        try (Recording recording = new Recording()) {
+            recording.start();
+            HttpEx.notFound("message");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then.
+        assertThat(RecordingFile.readAllEvents(file))
+            .noneMatch(event -> event.getEventType().getName().equals(ExCreatedEvent.NAME));
+    }
+
+    @Test
+    void recorded() throws Exception {
+        // Given.
+        Path file = dir.resolve("enabled.jfr");
+
+        // When.
+        try (Recording recording = new Recording()) {
+            recording.enable(ExCreatedEvent.NAME);
+            recording.start();
+            HttpEx.notFound().code("USER_NOT_FOUND").build();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then.
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(ExCreatedEvent.NAME))
+            .toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getClass("exceptionClass").getName()).isEqualTo(HttpEx.class.getName());
+        assertThat(events.get(0).getString("code")).isEqualTo("USER_NOT_FOUND");
+        assertThat(events.get(0).getInt("status")).isEqualTo(HttpEx.NOT_FOUND);
+        assertThat(events.get(0).getBoolean("constant")).isFalse();
+        assertThat(events.get(0).getStackTrace()).isNull();
+    }
+}
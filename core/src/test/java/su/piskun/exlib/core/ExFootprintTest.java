@@ -0,0 +1,66 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the retained size of exceptions, since they can be kept in retry queues and failure buffers.
+ */
+class ExFootprintTest {
+
+    private static final long SHALLOW_SIZE_BUDGET = 80;
+    // The exception itself plus the message and the code strings.
+    private static final long RETAINED_SIZE_BUDGET = 176;
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void shallowSize() {
+        // When.
+        long size = ClassLayout.parseClass(HttpEx.class).instanceSize();
+
+        // Then.
+        assertThat(size).isLessThanOrEqualTo(SHALLOW_SIZE_BUDGET);
+    }
+
+    @Test
+    void retainedSize() {
+        // Given.
+        Ex ex = Ex.builder()
+            .message("message")
+            .stackless()
+            .build();
+
+        // When.
+        GraphLayout layout = GraphLayout.parseInstance(ex);
+
+        // Then.
+        assertThat(layout.totalSize()).isLessThanOrEqualTo(RETAINED_SIZE_BUDGET);
+        assertThat(layout.getClasses()).doesNotContain(UUID.class, Instant.class);
+    }
+
+    @Test
+    void lazyId() {
+        // Given.
+        ExSettings.setLazyId(true);
+        UUID id = UUID.randomUUID();
+        ExSettings.setIdGenerator(() -> id);
+
+        Ex ex = Ex.as("message");
+        ExSettings.setIdGenerator(ExIdGenerator.random());
+
+        // Then.
+        assertThat(ex.getId()).isNotEqualTo(id);
+        assertThat(ex.getId()).isEqualTo(ex.getId());
+    }
+}
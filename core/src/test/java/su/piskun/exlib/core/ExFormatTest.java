@@ -0,0 +1,93 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExFormatTest {
+
+    private static final long MAX_EPOCH_NANOS = Long.MAX_VALUE;
+
+    @Test
+    void appendUuid() throws IOException {
+        // Given.
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            StringBuilder builder = new StringBuilder();
+
+            // When.
+            ExFormat.appendUuid(builder, id.getMostSignificantBits(), id.getLeastSignificantBits());
+
+            // Then.
+            assertThat(builder.toString()).isEqualTo(id.toString());
+        }
+    }
+
+    @Test
+    void appendInstant() throws IOException {
+        // Given.
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            long epochNanos = Math.floorMod(random.nextLong(), MAX_EPOCH_NANOS);
+            // Round some values to check the millisecond and microsecond precisions.
+            if (i % 3 == 1) {
+                epochNanos -= epochNanos % 1_000_000;
+            } else if (i % 3 == 2) {
+                epochNanos -= epochNanos % 1000;
+            }
+
+            // Then.
+            assertInstant(epochNanos);
+        }
+        assertInstant(0);
+        assertInstant(951_782_400_000_000_000L);
+        assertInstant(MAX_EPOCH_NANOS);
+    }
+
+    @Test
+    void appendInt() throws IOException {
+        for (int value : new int[] {0, 7, 10, 404, 599, Integer.MAX_VALUE}) {
+            // Given.
+            StringBuilder builder = new StringBuilder();
+
+            // When.
+            ExFormat.appendInt(builder, value);
+
+            // Then.
+            assertThat(builder.toString()).isEqualTo(Integer.toString(value));
+        }
+    }
+
+    @Test
+    void appendMap() throws IOException {
+        // Given.
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("key", "value");
+        map.put("number", 1);
+        map.put("null", null);
+        map.put("self", map);
+        StringBuilder builder = new StringBuilder();
+
+        // When.
+        ExFormat.appendMap(builder, map);
+
+        // Then.
+        assertThat(builder.toString()).isEqualTo(map.toString());
+    }
+
+    private static void assertInstant(long epochNanos) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        ExFormat.appendInstant(builder, epochNanos);
+        assertThat(builder.toString()).isEqualTo(Instant.ofEpochSecond(0, epochNanos).toString());
+    }
+}
@@ -0,0 +1,68 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ExHistogramTest {
+
+    @Test
+    void buckets() {
+        // Given.
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+
+            // When.
+            int index = ExHistogram.index(value);
+
+            // Then.
+            assertThat(index).isBetween(0, ExHistogram.BUCKETS - 1);
+            assertThat(value).isBetween(ExHistogram.lowerBound(index), ExHistogram.upperBound(index));
+        }
+        assertThat(ExHistogram.index(Long.MAX_VALUE)).isEqualTo(ExHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void percentiles() {
+        // Given.
+        ExHistogram histogram = new ExHistogram();
+
+        // When.
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+        ExHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Then.
+        assertThat(snapshot.getCount()).isEqualTo(10_000);
+        assertThat(snapshot.getMean()).isCloseTo(5_000_500, within(1.0));
+        assertThat(snapshot.getMax()).isEqualTo(10_000_000);
+        assertThat(snapshot.getPercentile(50)).isBetween(5_000_000L, 5_625_000L);
+        assertThat(snapshot.getPercentile(99)).isBetween(9_900_000L, 10_000_000L);
+        assertThat(snapshot.getPercentile(100)).isEqualTo(10_000_000);
+        assertThat(snapshot.toString()).contains("count=10000");
+    }
+
+    @Test
+    void empty() {
+        // Given.
+        ExHistogram histogram = new ExHistogram();
+        histogram.record(-1);
+        histogram.reset();
+
+        // When.
+        ExHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Then.
+        assertThat(snapshot.getCount()).isZero();
+        assertThat(snapshot.getMean()).isZero();
+        assertThat(snapshot.getPercentile(99)).isZero();
+        assertThatThrownBy(() -> snapshot.getPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,135 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExIdGeneratorTest {
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void random() {
+        // When.
+        UUID id = ExIdGenerator.random().generate();
+
+        // Then.
+        assertThat(id.version()).isEqualTo(4);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id).isNotEqualTo(ExIdGenerator.random().generate());
+    }
+
+    @Test
+    void timeOrdered() throws InterruptedException {
+        // Given.
+        long before = System.currentTimeMillis();
+
+        // When.
+        UUID first = ExIdGenerator.timeOrdered().generate();
+        Thread.sleep(2);
+        UUID second = ExIdGenerator.timeOrdered().generate();
+
+        // Then.
+        assertThat(first.version()).isEqualTo(7);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(first.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis());
+        assertThat(first).isLessThan(second);
+    }
+
+    @Test
+    void timeOrderedUsesClock() {
+        // Given.
+        ExSettings.setClock(ExClock.fixed(Instant.parse("2022-08-02T16:20:51.724925378Z")));
+
+        // When.
+        UUID id = ExIdGenerator.timeOrdered().generate();
+
+        // Then.
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(1659457251724L);
+    }
+
+    @Test
+    void sequential() {
+        // Given.
+        ExIdGenerator generator = ExIdGenerator.sequential(0x0123456789ABCDEFL);
+
+        // When.
+        UUID first = generator.generate();
+        UUID second = generator.generate();
+
+        // Then.
+        assertThat(first.version()).isEqualTo(8);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(first.getMostSignificantBits()).isEqualTo(second.getMostSignificantBits());
+        assertThat(first.toString()).startsWith("12345678-9abc-8def");
+        assertThat(second.getLeastSignificantBits()).isEqualTo(first.getLeastSignificantBits() + 1);
+    }
+
+    @Test
+    void sequentialIsUniqueAcrossThreads() throws InterruptedException {
+        // Given.
+        ExIdGenerator generator = ExIdGenerator.sequential();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When.
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 5000; j++) {
+                    ids.add(generator.generate());
+                }
+            });
+        }
+        executor.shutdown();
+
+        // Then.
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ids).hasSize(8 * 5000);
+    }
+
+    @Test
+    void configuredGenerator() {
+        // Given.
+        UUID id = UUID.randomUUID();
+        ExSettings.setIdGenerator(() -> id);
+
+        // Then.
+        assertThat(Ex.as("message").getId()).isEqualTo(id);
+        assertThat(HttpEx.notFound("message").getId()).isEqualTo(id);
+    }
+
+    @Test
+    void lazyNilId() {
+        // Given.
+        AtomicInteger calls = new AtomicInteger();
+        ExSettings.setLazyId(true);
+        ExSettings.setIdGenerator(() -> {
+            calls.incrementAndGet();
+            return new UUID(0, 0);
+        });
+        Ex ex = Ex.as("message");
+
+        // When.
+        UUID first = ex.getId();
+        UUID second = ex.getId();
+        String string = ex.toString();
+
+        // Then.
+        assertThat(first).isEqualTo(second).isEqualTo(new UUID(0, 0));
+        assertThat(string).contains("id=" + first);
+        assertThat(calls).hasValue(1);
+    }
+}
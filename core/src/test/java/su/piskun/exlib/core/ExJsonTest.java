@@ -0,0 +1,97 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExJsonTest {
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void httpEx() throws IOException {
+        // Given.
+        ExSettings.setIdGenerator(() -> new UUID(1, 2));
+        ExSettings.setClock(() -> 1_659_457_251_724_925_378L);
+        HttpEx ex = HttpEx.notFound()
+            .message("user \"%s\"\nnot found", "john")
+            .context("userId", 42)
+            .context("tags", Map.of("tier", "gold"))
+            .context("ratio", Double.NaN)
+            .cause(new IllegalStateException("outer", new IOException("connection reset")))
+            .build();
+        StringBuilder out = new StringBuilder();
+
+        // When.
+        ExJson.append(out, ex);
+
+        // Then.
+        assertThat(out.toString()).isEqualTo("{"
+            + "\"class\":\"su.piskun.exlib.core.HttpEx\","
+            + "\"message\":\"user \\\"john\\\"\\nnot found\","
+            + "\"id\":\"00000000-0000-0001-0000-000000000002\","
+            + "\"timestamp\":\"2022-08-02T16:20:51.724925378Z\","
+            + "\"code\":\"CLIENT_ERROR\","
+            + "\"context\":{\"userId\":42,\"tags\":{\"tier\":\"gold\"},\"ratio\":\"NaN\"},"
+            + "\"status\":404,"
+            + "\"causes\":["
+            + "{\"class\":\"java.lang.IllegalStateException\",\"message\":\"outer\"},"
+            + "{\"class\":\"java.io.IOException\",\"message\":\"connection reset\"}"
+            + "]}");
+    }
+
+    @Test
+    void throwable() throws IOException {
+        // Given.
+        StringBuilder out = new StringBuilder();
+
+        // When.
+        ExJson.append(out, new IllegalArgumentException("tab\there \u0001"));
+
+        // Then.
+        assertThat(out.toString())
+            .isEqualTo("{\"class\":\"java.lang.IllegalArgumentException\",\"message\":\"tab\\there \\u0001\"}");
+    }
+
+    @Test
+    void nestedMapCycle() throws IOException {
+        // Given.
+        Map<String, Object> outer = new HashMap<>();
+        Map<String, Object> inner = new HashMap<>();
+        outer.put("inner", inner);
+        inner.put("outer", outer);
+        StringBuilder out = new StringBuilder();
+
+        // When.
+        ExJson.appendMap(out, Map.of("root", outer));
+
+        // Then.
+        assertThat(out.toString()).isEqualTo("{\"root\":{\"inner\":{\"outer\":\"(this Map)\"}}}");
+    }
+
+    @Test
+    void deepMap() throws IOException {
+        // Given.
+        Map<String, Object> map = Map.of("value", 1);
+        for (int i = 0; i < 10_000; i++) {
+            map = Map.of("nested", map);
+        }
+        StringBuilder out = new StringBuilder();
+
+        // When.
+        ExJson.appendMap(out, map);
+
+        // Then.
+        assertThat(out.toString())
+            .isEqualTo("{\"nested\":".repeat(9) + "\"(nested Map)\"" + "}".repeat(9));
+    }
+}
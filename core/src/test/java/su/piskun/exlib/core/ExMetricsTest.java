@@ -0,0 +1,120 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExMetricsTest {
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void disabledByDefault() {
+        // Then.
+        assertThat(ExSettings.getMetrics()).isNull();
+        assertThat(Ex.as("message")).isNotNull();
+    }
+
+    @Test
+    void count() {
+        // Given.
+        ExMetrics metrics = new ExMetrics();
+        ExSettings.setMetrics(metrics);
+
+        // When.
+        Ex.as("message");
+        Ex.builder().code("code").build();
+        HttpEx.notFound("message");
+        HttpEx.notFound("message");
+        HttpEx.badGateway("message");
+        ExMetrics.Snapshot snapshot = metrics.snapshot();
+
+        // Then.
+        assertThat(snapshot.getCodeCounts()).containsExactly(
+            Map.entry(Ex.DEFAULT_CODE, 1L),
+            Map.entry("code", 1L),
+            Map.entry(HttpEx.CLIENT_ERROR, 2L),
+            Map.entry(HttpEx.SERVER_ERROR, 1L));
+        assertThat(snapshot.getStatusCounts()).containsExactly(
+            Map.entry(HttpEx.NOT_FOUND, 2L),
+            Map.entry(HttpEx.BAD_GATEWAY, 1L));
+        assertThat(snapshot.getCount(HttpEx.NOT_FOUND)).isEqualTo(2);
+        assertThat(snapshot.getCount(HttpEx.CONFLICT)).isZero();
+        assertThat(snapshot.getCount("unknown")).isZero();
+        assertThat(snapshot.getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    void snapshotAndReset() {
+        // Given.
+        ExMetrics metrics = new ExMetrics();
+        ExSettings.setMetrics(metrics);
+        HttpEx.notFound("message");
+
+        // When.
+        ExMetrics.Snapshot first = metrics.snapshotAndReset();
+        HttpEx.notFound("message");
+        ExMetrics.Snapshot second = metrics.snapshot();
+        metrics.reset();
+
+        // Then.
+        assertThat(first.getCount(HttpEx.NOT_FOUND)).isEqualTo(1);
+        assertThat(second.getCount(HttpEx.NOT_FOUND)).isEqualTo(1);
+        assertThat(metrics.snapshot().getTotal()).isZero();
+        assertThat(metrics.snapshot().getCodeCounts()).isEmpty();
+    }
+
+    @Test
+    void tooManyCodes() {
+        // Given.
+        ExMetrics metrics = new ExMetrics();
+        ExSettings.setMetrics(metrics);
+
+        // When.
+        for (int i = 0; i < ExMetrics.MAX_CODES + 10; i++) {
+            Ex.builder().code("code" + i).stackless().build();
+        }
+        ExMetrics.Snapshot snapshot = metrics.snapshot();
+
+        // Then.
+        assertThat(snapshot.getCodeCounts()).hasSize(ExMetrics.MAX_CODES);
+        assertThat(snapshot.getCount(ExMetrics.OTHER_CODE)).isEqualTo(11);
+        assertThat(snapshot.getTotal()).isEqualTo(ExMetrics.MAX_CODES + 10);
+    }
+
+    @Test
+    void concurrentCount() throws InterruptedException {
+        // Given.
+        ExMetrics metrics = new ExMetrics();
+        ExSettings.setMetrics(metrics);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int thread = i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    Ex.builder().code("code" + (j % 50) + "-" + thread % 2).stackless().build();
+                }
+            }));
+        }
+
+        // When.
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then.
+        assertThat(metrics.snapshot().getCodeCounts())
+            .hasSize(100)
+            .allSatisfy((code, count) -> assertThat(count).isEqualTo(40));
+        assertThat(metrics.snapshot().getTotal()).isEqualTo(4000);
+    }
+}
@@ -0,0 +1,129 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExResultTest {
+
+    private static final ExTemplate TEMPLATE = ExTemplate.of("invalid value: {}");
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void ok() {
+        // Given.
+        ExResult<String> result = ExResult.ok("42");
+
+        // When.
+        ExResult<Integer> mapped = result
+            .map(Integer::parseInt)
+            .flatMap(value -> ExResult.ok(value + 1));
+
+        // Then.
+        assertThat(mapped.isOk()).isTrue();
+        assertThat(mapped.isFailure()).isFalse();
+        assertThat(mapped.getFailure()).isNull();
+        assertThat(mapped.orElse(0)).isEqualTo(43);
+        assertThat(mapped.orThrow()).isEqualTo(43);
+    }
+
+    @Test
+    void failure() {
+        // Given.
+        ExResult<String> result = ExResult.failure(ExFailure.of("VALIDATION_ERROR", TEMPLATE, "x"));
+
+        // When.
+        ExResult<Integer> mapped = result
+            .map(Integer::parseInt)
+            .flatMap(ExResult::ok);
+
+        // Then.
+        assertThat(mapped).isSameAs(result);
+        assertThat(mapped.isFailure()).isTrue();
+        assertThat(mapped.orElse(0)).isZero();
+        assertThat(mapped.getFailure().getCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(mapped.getFailure().getStatus()).isZero();
+        assertThat(mapped.getFailure().getMessage()).isEqualTo("invalid value: x");
+        assertThatThrownBy(mapped::orThrow)
+            .isExactlyInstanceOf(Ex.class)
+            .hasMessage("invalid value: x")
+            .extracting(ex -> ((Ex) ex).getCode())
+            .isEqualTo("VALIDATION_ERROR");
+    }
+
+    @Test
+    void flatMapToFailure() {
+        // Given.
+        ExResult<Integer> result = ExResult.ok("x")
+            .flatMap(value -> ExResult.failure(ExFailure.http(HttpEx.BAD_REQUEST, "not a number")));
+
+        // Then.
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getFailure().getMessage()).isEqualTo("not a number");
+    }
+
+    @Test
+    void httpFailure() {
+        // Given.
+        ExFailure failure = ExFailure.http(HttpEx.UNPROCESSABLE_ENTITY, TEMPLATE, "x")
+            .context("field", "age")
+            .context("value", "x")
+            .context("field", "name");
+
+        // When.
+        Ex ex = failure.toEx();
+
+        // Then.
+        assertThat(failure.getCode()).isEqualTo(HttpEx.CLIENT_ERROR);
+        assertThat(failure.getContext()).isEqualTo(Map.of("field", "name", "value", "x"));
+        assertThat(ex).isInstanceOf(HttpEx.class);
+        assertThat(((HttpEx) ex).getStatusCode()).isEqualTo(HttpEx.UNPROCESSABLE_ENTITY);
+        assertThat(ex.getCode()).isEqualTo(HttpEx.CLIENT_ERROR);
+        assertThat(ex.getMessage()).isEqualTo("invalid value: x");
+        assertThat(ex.getContext()).isEqualTo(failure.getContext());
+    }
+
+    @Test
+    void failureIsImmutable() {
+        // Given.
+        ExFailure failure = ExFailure.of(null, "message");
+
+        // When.
+        ExFailure copy = failure.code("code").context("key", "value");
+
+        // Then.
+        assertThat(failure.getCode()).isEqualTo(Ex.DEFAULT_CODE);
+        assertThat(failure.getContext()).isNull();
+        assertThat(copy.getCode()).isEqualTo("code");
+        assertThat(copy.getContext()).containsEntry("key", "value");
+    }
+
+    @Test
+    void lazyMessage() {
+        // Given.
+        AtomicInteger calls = new AtomicInteger();
+        Object arg = new Object() {
+            @Override
+            public String toString() {
+                calls.incrementAndGet();
+                return "arg";
+            }
+        };
+
+        // When.
+        ExResult<Object> result = ExResult.failure(ExFailure.of("code", TEMPLATE, arg)).map(value -> value);
+
+        // Then.
+        assertThat(result.isFailure()).isTrue();
+        assertThat(calls).hasValue(0);
+    }
+}
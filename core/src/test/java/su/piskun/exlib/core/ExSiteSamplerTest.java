@@ -0,0 +1,121 @@
+package su.piskun.exlib.core;
+
+import com.example.Failures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExSiteSamplerTest {
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void top() {
+        // Given.
+        ExSiteSampler sut = new ExSiteSampler(1, 10);
+        ExSettings.setSiteSampler(sut);
+
+        // When.
+        for (int i = 0; i < 3; i++) {
+            Failures.notFound();
+        }
+        Failures.badRequest();
+
+        // Then.
+        Map<ExSiteSampler.Site, Long> top = sut.top(10);
+        assertThat(top.values()).containsExactly(3L, 1L);
+        assertThat(top.keySet()).extracting(ExSiteSampler.Site::getMethodName)
+            .containsExactly("notFound", "badRequest");
+        assertThat(top.keySet().iterator().next().toString())
+            .startsWith("com.example.Failures.notFound(Failures.java:");
+        assertThat(sut.top(1)).hasSize(1);
+    }
+
+    @Test
+    void eviction() {
+        // Given.
+        ExSiteSampler sut = new ExSiteSampler(1, 1);
+        ExSettings.setSiteSampler(sut);
+
+        // When.
+        Failures.notFound();
+        Failures.badRequest();
+
+        // Then.
+        assertThat(sut.top(10).keySet()).extracting(ExSiteSampler.Site::getMethodName)
+            .containsExactly("badRequest");
+    }
+
+    @Test
+    void lateFrequentSiteStays() {
+        // Given.
+        ExSiteSampler sut = new ExSiteSampler(1, 2);
+        ExSettings.setSiteSampler(sut);
+        for (int i = 0; i < 3; i++) {
+            Failures.notFound();
+        }
+        Failures.badRequest();
+
+        // When.
+        for (int i = 0; i < 10; i++) {
+            Failures.conflict();
+            Failures.conflict();
+            if (i % 2 == 0) {
+                Failures.forbidden();
+            } else {
+                Failures.badRequest();
+            }
+        }
+
+        // Then.
+        assertThat(sut.top(1).keySet()).extracting(ExSiteSampler.Site::getMethodName)
+            .containsExactly("conflict");
+    }
+
+    @Test
+    void librarySites() {
+        // Given.
+        ExSiteSampler sut = new ExSiteSampler(1, 10);
+        ExSettings.setSiteSampler(sut);
+
+        // When.
+        Failures.fromFailure();
+        // A library frame from the same code source as the caller, as in a shaded jar.
+        Failures.call(() -> HttpEx.notFound("message"));
+
+        // Then.
+        assertThat(sut.top(10).keySet()).extracting(ExSiteSampler.Site::getClassName)
+            .containsOnly("com.example.Failures");
+        assertThat(sut.top(10).keySet()).extracting(ExSiteSampler.Site::getMethodName)
+            .containsExactlyInAnyOrder("fromFailure", "call");
+    }
+
+    @Test
+    void sampleRate() {
+        // Given.
+        ExSiteSampler sut = new ExSiteSampler(10, 10);
+        ExSettings.setSiteSampler(sut);
+
+        // When.
+        for (int i = 0; i < 10_000; i++) {
+            Failures.notFound();
+        }
+
+        // Then.
+        assertThat(sut.top(10).values()).singleElement()
+            .satisfies(count -> assertThat(count).isBetween(8_000L, 12_000L));
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> new ExSiteSampler(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExSiteSampler(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package su.piskun.exlib.core;
+
+import com.example.Failures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ExStatsTest {
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+        ExStats.unregister();
+    }
+
+    @Test
+    void stats() {
+        // Given.
+        ExMetrics metrics = new ExMetrics();
+        ExSettings.setMetrics(metrics);
+        ExSettings.setClock(() -> 1_000_000_000_000L);
+        ExSettings.setSiteSampler(new ExSiteSampler(1, 10));
+        ExStats sut = new ExStats(metrics);
+        long start = System.nanoTime();
+
+        // When.
+        for (int i = 0; i < 60; i++) {
+            Failures.notFound();
+        }
+        sut.update(start + 60_000_000_000L);
+
+        // Then.
+        assertThat(sut.getTotal()).isEqualTo(60);
+        assertThat(sut.getCodes()).singleElement().satisfies(stat -> {
+            assertThat(stat.getName()).isEqualTo(HttpEx.CLIENT_ERROR);
+            assertThat(stat.getCount()).isEqualTo(60);
+            assertThat(stat.getRate()).isCloseTo(0.63, within(0.01));
+            assertThat(stat.getLastOccurrence()).isEqualTo(Instant.ofEpochSecond(1000).toString());
+        });
+        assertThat(sut.getStatuses()).singleElement().satisfies(stat -> {
+            assertThat(stat.getName()).isEqualTo("404");
+            assertThat(stat.getCount()).isEqualTo(60);
+        });
+        assertThat(sut.getTopSites().entrySet()).singleElement().satisfies(site -> {
+            assertThat(site.getKey()).startsWith("com.example.Failures.notFound(");
+            assertThat(site.getValue()).isEqualTo(60);
+        });
+    }
+
+    @Test
+    void register() throws Exception {
+        // Given.
+        ExMetrics metrics = new ExMetrics();
+        ExSettings.setMetrics(metrics);
+        ExStats.register(metrics);
+        ExStats.register(metrics);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(ExStats.OBJECT_NAME);
+
+        // When.
+        HttpEx.notFound("message");
+        CompositeData[] statuses = (CompositeData[]) server.getAttribute(name, "Statuses");
+
+        // Then.
+        assertThat(server.getAttribute(name, "Total")).isEqualTo(1L);
+        assertThat(statuses).singleElement().satisfies(stat -> {
+            assertThat(stat.get("name")).isEqualTo("404");
+            assertThat(stat.get("count")).isEqualTo(1L);
+        });
+
+        // When.
+        server.invoke(name, "reset", null, null);
+
+        // Then.
+        assertThat(server.getAttribute(name, "Total")).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,76 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExTemplateTest {
+
+    @Test
+    void render() {
+        // Given.
+        ExTemplate template = ExTemplate.of("user {} not found in {}");
+
+        // When.
+        String message = template.render("john", "db");
+
+        // Then.
+        assertThat(template.getPlaceholders()).isEqualTo(2);
+        assertThat(message).isEqualTo("user john not found in db");
+    }
+
+    @Test
+    void renderWithoutPlaceholders() {
+        // Given.
+        ExTemplate template = ExTemplate.of("user not found");
+
+        // Then.
+        assertThat(template.getPlaceholders()).isZero();
+        assertThat(template.render("john")).isEqualTo("user not found");
+    }
+
+    @Test
+    void renderPlaceholdersOnly() {
+        // Given.
+        ExTemplate template = ExTemplate.of("{}{}");
+
+        // Then.
+        assertThat(template.render(1, null)).isEqualTo("1null");
+    }
+
+    @Test
+    void renderMissingArguments() {
+        // Given.
+        ExTemplate template = ExTemplate.of("user {} not found in {}");
+
+        // Then.
+        assertThat(template.render("john")).isEqualTo("user john not found in {}");
+        assertThat(template.render((Object[]) null)).isEqualTo("user {} not found in {}");
+    }
+
+    @Test
+    void renderEscapedPlaceholder() {
+        // Given.
+        ExTemplate template = ExTemplate.of("set \\{} is empty, user {}");
+
+        // Then.
+        assertThat(template.getPlaceholders()).isEqualTo(1);
+        assertThat(template.render("john")).isEqualTo("set {} is empty, user john");
+    }
+
+    @Test
+    void asMessageSource() {
+        // Given.
+        ExTemplate template = ExTemplate.of("user {} not found");
+
+        // When.
+        Ex ex = Ex.as(template, "john");
+        HttpEx httpEx = HttpEx.notFound(template, "john");
+
+        // Then.
+        assertThat(ex.getMessage()).isEqualTo("user john not found");
+        assertThat(httpEx.getMessage()).isEqualTo("user john not found");
+        assertThat(httpEx.getStatusCode()).isEqualTo(HttpEx.NOT_FOUND);
+        assertThat(template).hasToString("user {} not found");
+    }
+}
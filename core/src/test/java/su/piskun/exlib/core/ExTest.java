@@ -1,13 +1,29 @@
 package su.piskun.exlib.core;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ExTest {
 
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
     @Test
     void create() {
         // Given.
@@ -56,4 +72,275 @@ public class ExTest {
         assertThat(ex.getContext()).isNull();
         assertThat(ex.getCause()).isNull();
     }
+
+    @Test
+    void asMessageArgsIsFormattedLazily() {
+        // Given.
+        AtomicInteger calls = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                calls.incrementAndGet();
+                return "message";
+            }
+        };
+
+        // When.
+        Ex ex = Ex.as("This is my %s.", argument);
+
+        // Then.
+        assertThat(calls).hasValue(0);
+        assertThat(ex.getMessage()).isEqualTo("This is my message.");
+        assertThat(ex.getMessage()).isEqualTo("This is my message.");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void asMessageArgsWithInvalidFormat() {
+        // Given.
+        Ex ex = Ex.as("This is my %d.", "message");
+
+        // Then.
+        assertThat(ex.getMessage()).isEqualTo("This is my %d. [message]");
+    }
+
+    @Test
+    void fullStackTraceByDefault() {
+        // Given.
+        Ex ex = Ex.as("message");
+        ex.addSuppressed(new RuntimeException());
+
+        // Then.
+        assertThat(ex.getStackTrace())
+            .extracting(StackTraceElement::getMethodName)
+            .contains("fullStackTraceByDefault");
+        assertThat(ex.getSuppressed()).hasSize(1);
+    }
+
+    @Test
+    void stackless() {
+        // Given.
+        Ex ex = Ex.builder()
+            .message("message")
+            .stackless()
+            .build();
+        ex.addSuppressed(new RuntimeException());
+
+        // Then.
+        assertThat(ex.getMessage()).isEqualTo("message");
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void stackTraceOfCode() {
+        // Given.
+        ExSettings.setStackTrace("code", ExStackTrace.NONE);
+
+        Ex ex = Ex.builder().code("code").build();
+        Ex otherEx = Ex.builder().code("other").build();
+
+        // Then.
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(otherEx.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void defaultStackTrace() {
+        // Given.
+        ExSettings.setDefaultStackTrace(ExStackTrace.NONE);
+        ExSettings.setStackTrace("code", ExStackTrace.FULL);
+
+        Ex ex = Ex.as("message");
+        Ex codeEx = Ex.builder().code("code").build();
+        Ex builderEx = Ex.builder().stackTrace(ExStackTrace.FULL).build();
+
+        // Then.
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(codeEx.getStackTrace()).isNotEmpty();
+        assertThat(builderEx.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void limitedStackTrace() {
+        // Given.
+        ExSettings.setStackTraceDepth(2);
+
+        Ex ex = Ex.builder()
+            .message("message")
+            .stackTrace(ExStackTrace.LIMITED)
+            .build();
+        ex.addSuppressed(new RuntimeException());
+
+        // Then.
+        assertThat(ex.getStackTrace()).hasSize(2);
+        assertThat(ex.getStackTrace()[0].getMethodName()).isEqualTo("build");
+        assertThat(ex.getStackTrace()[1].getMethodName()).isEqualTo("limitedStackTrace");
+        assertThat(ex.getSuppressed()).hasSize(1);
+    }
+
+    @Test
+    void printLimitedStackTrace() {
+        // Given.
+        Ex ex = Ex.builder()
+            .message("message")
+            .cause(new IllegalStateException("cause"))
+            .stackTrace(ExStackTrace.LIMITED)
+            .build();
+        StringWriter writer = new StringWriter();
+
+        // When.
+        ex.printStackTrace(new PrintWriter(writer));
+
+        // Then.
+        assertThat(writer.toString())
+            .startsWith(ex.toString())
+            .contains("\tat su.piskun.exlib.core.ExTest.printLimitedStackTrace")
+            .contains("Caused by: java.lang.IllegalStateException: cause");
+    }
+
+    @Test
+    void limitedStackTraceAsCause() {
+        // Given.
+        Ex ex = Ex.builder()
+            .message("message")
+            .stackTrace(ExStackTrace.LIMITED)
+            .build();
+        IllegalStateException wrapper = new IllegalStateException("wrapper", ex);
+        StringWriter writer = new StringWriter();
+
+        // When.
+        wrapper.printStackTrace(new PrintWriter(writer));
+
+        // Then.
+        assertThat(writer.toString())
+            .contains("Caused by: " + ex + System.lineSeparator() + "\tat su.piskun.exlib.core.Ex$Builder.build(");
+    }
+
+    @Test
+    void limitedStackTraceSerialization() throws Exception {
+        // Given.
+        Ex ex = Ex.builder()
+            .message("message")
+            .stackTrace(ExStackTrace.LIMITED)
+            .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // When.
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ex);
+        }
+        Ex copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Ex) in.readObject();
+        }
+
+        // Then.
+        assertThat(copy.getStackTrace()).isNotEmpty().containsExactly(ex.getStackTrace());
+        assertThat(copy.getStackTrace()[0].getMethodName()).isEqualTo("build");
+    }
+
+    @Test
+    void toStringFormat() {
+        // Given.
+        ExSettings.setClock(ExClock.fixed(Instant.parse("2022-08-02T16:20:51.724925378Z")));
+        Ex ex = Ex.builder()
+            .code("code")
+            .message("message")
+            .context("key", "value")
+            .build();
+
+        // Then.
+        assertThat(ex.toString()).isEqualTo("BaseException{" +
+            "id=" + ex.getId() +
+            ", timestamp=2022-08-02T16:20:51.724925378Z" +
+            ", code='code'" +
+            ", context={key=value}" +
+            "} su.piskun.exlib.core.Ex: message");
+        assertThat(Ex.as((String) null).toString()).endsWith("context=null} su.piskun.exlib.core.Ex");
+    }
+
+    @Test
+    void toStringCached() {
+        // Given.
+        Ex ex = Ex.as("message %s", "formatted");
+
+        // Then.
+        assertThat(ex.toString())
+            .isSameAs(ex.toString())
+            .endsWith(": message formatted");
+    }
+
+    @Test
+    void appendTo() throws IOException {
+        // Given.
+        ExSettings.setLazyId(true);
+        Ex ex = Ex.builder()
+            .message("message")
+            .context("key", "value")
+            .build();
+        StringBuilder builder = new StringBuilder("prefix ");
+        StringWriter writer = new StringWriter();
+
+        // When.
+        ex.appendTo(builder);
+        ex.appendTo(writer);
+
+        // Then.
+        assertThat(builder.toString()).isEqualTo("prefix " + ex);
+        assertThat(writer.toString()).isEqualTo(ex.toString());
+        assertThat(ex.toString()).contains("id=" + ex.getId());
+    }
+
+    @Test
+    void constant() {
+        // Given.
+        Instant timestamp = Instant.parse("2022-08-02T16:20:51Z");
+        ExSettings.setClock(ExClock.fixed(timestamp));
+        Ex ex = Ex.builder()
+            .message("message %s", "formatted")
+            .stackTrace(ExStackTrace.FULL)
+            .constant()
+            .build();
+
+        // When.
+        ex.addSuppressed(new IllegalStateException());
+
+        // Then.
+        assertThat(ex.isConstant()).isTrue();
+        assertThat(ex.getId()).isEqualTo(new UUID(0, 0));
+        assertThat(ex.getTimestamp()).isEqualTo(timestamp);
+        assertThat(ex.getMessage()).isEqualTo("message formatted");
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getSuppressed()).isEmpty();
+        assertThat(ex.toString()).contains("id=00000000-0000-0000-0000-000000000000");
+        assertThat(ex.isConstant()).isTrue();
+        assertThatThrownBy(() -> ex.initCause(new IllegalStateException()))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(Ex.as("message").isConstant()).isFalse();
+    }
+
+    @Test
+    void constantSerialization() throws Exception {
+        // Given.
+        Ex ex = Ex.builder()
+            .message("message")
+            .constant()
+            .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // When.
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ex);
+        }
+        Ex copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Ex) in.readObject();
+        }
+
+        // Then.
+        assertThat(copy.isConstant()).isTrue();
+        assertThat(copy.getMessage()).isEqualTo("message");
+        assertThat(copy.toString()).isEqualTo(ex.toString());
+    }
 }
@@ -0,0 +1,55 @@
+package su.piskun.exlib.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpExStatusTest {
+
+    @Test
+    void clientError() {
+        // When.
+        HttpExStatus status = HttpExStatus.of(HttpEx.NOT_FOUND);
+
+        // Then.
+        assertThat(status.getStatus()).isEqualTo(HttpEx.NOT_FOUND);
+        assertThat(status.getReasonPhrase()).isEqualTo("Not Found");
+        assertThat(status.getFamily()).isEqualTo(HttpExStatus.Family.CLIENT_ERROR);
+        assertThat(status.isRetryable()).isFalse();
+        assertThat(status.getDefaultCode()).isEqualTo(HttpEx.CLIENT_ERROR);
+        assertThat(status).hasToString("404 Not Found");
+    }
+
+    @Test
+    void serverError() {
+        // When.
+        HttpExStatus status = HttpExStatus.of(HttpEx.SERVICE_UNAVAILABLE);
+
+        // Then.
+        assertThat(status.getReasonPhrase()).isEqualTo("Service Unavailable");
+        assertThat(status.getFamily()).isEqualTo(HttpExStatus.Family.SERVER_ERROR);
+        assertThat(status.isRetryable()).isTrue();
+        assertThat(status.getDefaultCode()).isEqualTo(HttpEx.SERVER_ERROR);
+    }
+
+    @Test
+    void unassignedStatus() {
+        // When.
+        HttpExStatus status = HttpExStatus.of(499);
+
+        // Then.
+        assertThat(status.getReasonPhrase()).isEqualTo("Client Error");
+        assertThat(status.getDefaultCode()).isEqualTo(HttpEx.CLIENT_ERROR);
+        assertThat(HttpExStatus.of(499)).isSameAs(status);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 200, 399, 600})
+    void notErrorStatus(int status) {
+        assertThatThrownBy(() -> HttpExStatus.of(status)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpEx.of(status)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
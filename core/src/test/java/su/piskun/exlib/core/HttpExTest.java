@@ -1,5 +1,7 @@
 package su.piskun.exlib.core;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -22,6 +24,11 @@ class HttpExTest {
     private static final Map<String, Object> CONTEXT = Map.of("key", "value");
     private static final Exception CAUSE = new RuntimeException();
 
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
     @ParameterizedTest
     @MethodSource("source")
     void testCreation(HttpEx exception, String code, int httpStatus) {
@@ -46,6 +53,87 @@ class HttpExTest {
         assertThat(exception.getCause()).isNull();
     }
 
+    @Test
+    void testOf() {
+        // Given.
+        HttpEx exception = HttpEx.of(HttpEx.TOO_MANY_REQUESTS)
+            .message(MESSAGE)
+            .context(CONTEXT)
+            .cause(CAUSE)
+            .build();
+
+        // Then.
+        assertThat(exception.getMessage()).isEqualTo(MESSAGE);
+        assertThat(exception.getStatusCode()).isEqualTo(HttpEx.TOO_MANY_REQUESTS);
+        assertThat(exception.getStatus()).isSameAs(HttpExStatus.of(HttpEx.TOO_MANY_REQUESTS));
+        assertThat(exception.getCode()).isEqualTo(HttpEx.CLIENT_ERROR);
+        assertThat(exception.getContext()).isEqualTo(CONTEXT);
+        assertThat(exception.getCause()).isEqualTo(CAUSE);
+    }
+
+    @Test
+    void testOfMessage() {
+        // Given.
+        ExTemplate template = ExTemplate.of("This is an {}.");
+
+        // Then.
+        assertThat(HttpEx.of(HttpEx.BAD_GATEWAY, MESSAGE).getMessage()).isEqualTo(MESSAGE);
+        assertThat(HttpEx.of(HttpEx.BAD_GATEWAY, MESSAGE_FORMATTED, ERROR).getMessage()).isEqualTo("This is an error.");
+        assertThat(HttpEx.of(HttpEx.BAD_GATEWAY, template, ERROR).getMessage()).isEqualTo("This is an error.");
+        assertThat(HttpEx.of(HttpEx.BAD_GATEWAY, MESSAGE).getCode()).isEqualTo(HttpEx.SERVER_ERROR);
+    }
+
+    @Test
+    void testToString() {
+        // Given.
+        HttpEx exception = HttpEx.notFound(MESSAGE);
+
+        // Then.
+        assertThat(exception.toString())
+            .startsWith("HttpException{statusCode=404} BaseException{id=" + exception.getId())
+            .endsWith("code='CLIENT_ERROR', context=null} su.piskun.exlib.core.HttpEx: " + MESSAGE);
+        assertThat(exception.appendTo(new StringBuilder()).toString()).isEqualTo(exception.toString());
+    }
+
+    @Test
+    void testConstant() {
+        // Given.
+        HttpEx exception = HttpEx.tooManyRequests()
+            .message(MESSAGE)
+            .constant()
+            .build();
+
+        // Then.
+        assertThat(exception.isConstant()).isTrue();
+        assertThat(exception.getStatusCode()).isEqualTo(HttpEx.TOO_MANY_REQUESTS);
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.toString()).startsWith("HttpException{statusCode=429} ");
+    }
+
+    @Test
+    void testStackless() {
+        // Given.
+        HttpEx exception = HttpEx.notFound()
+            .message(MESSAGE)
+            .stackless()
+            .build();
+
+        // Then.
+        assertThat(exception.getMessage()).isEqualTo(MESSAGE);
+        assertThat(exception.getStatusCode()).isEqualTo(HttpEx.NOT_FOUND);
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void testStacklessClientErrors() {
+        // Given.
+        ExSettings.setStackTrace(HttpEx.CLIENT_ERROR, ExStackTrace.NONE);
+
+        // Then.
+        assertThat(HttpEx.notFound(MESSAGE).getStackTrace()).isEmpty();
+        assertThat(HttpEx.internalServerError(MESSAGE).getStackTrace()).isNotEmpty();
+    }
+
     private static Stream<Arguments> source() {
         return Stream.of(
             arguments(
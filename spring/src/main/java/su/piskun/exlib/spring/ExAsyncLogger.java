@@ -0,0 +1,284 @@
+package su.piskun.exlib.spring;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves the logging of the handled exceptions off the request threads.
+ * <p>
+ *     {@link ExHandler} puts the exception and its response into a bounded ring buffer,
+ *     and a single consumer thread formats and logs them in batches.
+ *     The ring buffer is lock-free: a producer claims a slot by compare-and-set, and every slot has a sequence
+ *     that tells whether it's free or published. The slots are preallocated, and a record keeps the MDC
+ *     and the name of the request thread, so the consumer logs it the way the request thread would.
+ * </p>
+ * <p>
+ *     When the buffer is full, the record is either dropped ({@link Overflow#DROP}) and counted,
+ *     or the request thread waits for a free slot ({@link Overflow#BLOCK}).
+ *     The logger is opt-in, it's enabled by declaring a bean, and it logs the rest of the buffer when it's closed.
+ *     The idle consumer thread parks until a request publishes a record.
+ * </p>
+ */
+public class ExAsyncLogger implements AutoCloseable {
+
+    /**
+     * What to do when the buffer is full.
+     */
+    public enum Overflow {
+        /**
+         * Drop the record and count it.
+         */
+        DROP,
+
+        /**
+         * Wait until there is a free slot.
+         */
+        BLOCK
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    static final int BATCH_SIZE = 256;
+
+    private static final long IDLE_NANOS = 1_000_000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+
+    private final Overflow overflow;
+    private final int mask;
+    private final Exception[] exceptions;
+    private final int[] statuses;
+    private final ExDto[] responses;
+    private final AtomicReferenceArray<Map<String, String>> contexts;
+    private final String[] threadNames;
+    private final ExStackRenderer[] stackRenderers;
+
+    /**
+     * Sequences of the slots: equals to the position for a free slot, the position plus one for a published one.
+     */
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Thread consumer;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    public ExAsyncLogger() {
+        this(DEFAULT_CAPACITY, Overflow.DROP);
+    }
+
+    /**
+     * @param capacity the size of the buffer, it's rounded up to a power of two.
+     * @param overflow what to do when the buffer is full.
+     */
+    public ExAsyncLogger(final int capacity, final Overflow overflow) {
+        this(capacity, overflow, true);
+    }
+
+    ExAsyncLogger(final int capacity, final Overflow overflow, final boolean start) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be from 1 to 2^30: " + capacity);
+        }
+        final int size = Integer.highestOneBit(capacity * 2 - 1);
+        this.overflow = overflow;
+        this.mask = size - 1;
+        this.exceptions = new Exception[size];
+        this.statuses = new int[size];
+        this.responses = new ExDto[size];
+        this.contexts = new AtomicReferenceArray<>(size);
+        this.threadNames = new String[size];
+        this.stackRenderers = new ExStackRenderer[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+
+        this.consumer = new Thread(this::consume, "exlib-async-logger");
+        this.consumer.setDaemon(true);
+        if (start) {
+            this.consumer.start();
+        }
+    }
+
+    /**
+     * Hands an exception over to the consumer thread.
+     * @param exception a handled exception.
+     * @param status the HTTP status of the response.
+     * @param exDto the response of the exception.
+     * @param stackRenderer the renderer of the stack trace, it's used on the trace level.
+     * @return {@code false} if the record is dropped.
+     */
+    public boolean log(
+        final Exception exception,
+        final int status,
+        final ExDto exDto,
+        final ExStackRenderer stackRenderer
+    ) {
+        while (true) {
+            if (offer(exception, status, exDto, stackRenderer)) {
+                return true;
+            }
+            if (this.overflow == Overflow.DROP || this.closed) {
+                this.dropped.increment();
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+    }
+
+    private boolean offer(
+        final Exception exception,
+        final int status,
+        final ExDto exDto,
+        final ExStackRenderer stackRenderer
+    ) {
+        while (true) {
+            final long position = this.tail.get();
+            final int slot = (int) position & this.mask;
+            final long difference = this.sequences.get(slot) - position;
+            if (difference < 0) {
+                // The consumer has not freed the slot yet, so the buffer is full.
+                return false;
+            }
+            if (difference == 0 && this.tail.compareAndSet(position, position + 1)) {
+                this.exceptions[slot] = exception;
+                this.statuses[slot] = status;
+                this.responses[slot] = exDto;
+                this.stackRenderers[slot] = stackRenderer;
+                this.contexts.set(slot, MDC.getCopyOfContextMap());
+                this.threadNames[slot] = Thread.currentThread().getName();
+                this.sequences.set(slot, position + 1);
+                if (this.waiting) {
+                    LockSupport.unpark(this.consumer);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Logs up to {@value #BATCH_SIZE} records on the current thread.
+     * @return the number of taken records, including the ones that failed to be logged.
+     */
+    int drain() {
+        final Thread thread = Thread.currentThread();
+        final String name = thread.getName();
+        final Map<String, String> context = MDC.getCopyOfContextMap();
+        int count = 0;
+        int failures = 0;
+        try {
+            while (count < BATCH_SIZE) {
+                final int slot = (int) this.head & this.mask;
+                if (this.sequences.get(slot) != this.head + 1) {
+                    break;
+                }
+                final Exception exception = this.exceptions[slot];
+                final int status = this.statuses[slot];
+                final ExDto exDto = this.responses[slot];
+                final ExStackRenderer stackRenderer = this.stackRenderers[slot];
+                final Map<String, String> recordContext = this.contexts.get(slot);
+                final String threadName = this.threadNames[slot];
+                this.exceptions[slot] = null;
+                this.responses[slot] = null;
+                this.stackRenderers[slot] = null;
+                this.contexts.set(slot, null);
+                this.threadNames[slot] = null;
+                this.sequences.set(slot, this.head + this.mask + 1);
+                this.head++;
+
+                restore(recordContext);
+                if (!threadName.equals(thread.getName())) {
+                    thread.setName(threadName);
+                }
+                try {
+                    ExHandler.write(exception, status, exDto, stackRenderer);
+                } catch (Throwable e) {
+                    // A failing appender or record must not stop the only consumer thread.
+                    failures++;
+                }
+                count++;
+            }
+        } finally {
+            restore(context);
+            if (!name.equals(thread.getName())) {
+                thread.setName(name);
+            }
+        }
+        this.logged.add(count - failures);
+        this.failed.add(failures);
+        return count;
+    }
+
+    private static void restore(final Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    private void consume() {
+        while (!this.closed) {
+            if (drain() > 0) {
+                continue;
+            }
+            // A producer checks the flag after it publishes a record, so either it unparks the consumer,
+            // or the consumer sees the record.
+            this.waiting = true;
+            if (drain() == 0 && !this.closed) {
+                LockSupport.park(this);
+            }
+            this.waiting = false;
+        }
+        while (drain() > 0) {
+            // Logs the rest of the buffer.
+        }
+    }
+
+    /**
+     * Returns the number of records that were dropped since the buffer was full.
+     * @return the number of dropped records.
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Returns the number of records that were logged.
+     * @return the number of logged records.
+     */
+    public long getLogged() {
+        return this.logged.sum();
+    }
+
+    /**
+     * Returns the number of records that failed to be logged, e.g. because an appender threw an exception.
+     * @return the number of failed records.
+     */
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Stops the consumer thread once it logs the rest of the buffer.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.consumer);
+        try {
+            this.consumer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
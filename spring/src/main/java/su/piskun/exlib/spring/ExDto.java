@@ -3,10 +3,10 @@ package su.piskun.exlib.spring;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import su.piskun.exlib.core.Ex;
+import su.piskun.exlib.core.ExContext;
 
 import java.time.Instant;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 @JsonDeserialize(builder = ExDto.Builder.class)
@@ -55,7 +55,7 @@ public class ExDto {
         this.id = builder.id;
         this.timestamp = builder.timestamp;
         this.code = builder.code != null ? builder.code : Ex.DEFAULT_CODE;
-        this.context = Optional.ofNullable(builder.context).map(Map::copyOf).orElse(null);
+        this.context = builder.context != null ? ExContext.copyOf(builder.context) : null;
         this.message = builder.message;
     }
 
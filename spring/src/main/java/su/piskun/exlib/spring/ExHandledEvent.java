@@ -0,0 +1,55 @@
+package su.piskun.exlib.spring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import su.piskun.exlib.core.ExEventProbe;
+
+/**
+ * A Java Flight Recorder event of {@link ExHandler#handle(Exception)}: the duration of the handler,
+ * the response status, the mapped code and the size of the response body.
+ * <p>
+ *     The event is disabled by default, it's enabled in a recording by the {@value #NAME} settings.
+ *     The body size is counted by {@link ExLatencyFilter}, so it's -1 if the filter is not registered.
+ * </p>
+ */
+@Name(ExHandledEvent.NAME)
+@Label("Exception Handled")
+@Description("Handling of an exception by ExHandler")
+@Category("exlib")
+@Enabled(false)
+@StackTrace(false)
+public final class ExHandledEvent extends Event {
+
+    public static final String NAME = "su.piskun.exlib.ExHandled";
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("HTTP Status")
+    int status;
+
+    @Label("Code")
+    String code;
+
+    @Label("Body Size")
+    @DataAmount
+    long bodySize = -1;
+
+    private static final ExEventProbe PROBE = new ExEventProbe(ExHandledEvent.class);
+
+    ExHandledEvent() {}
+
+    /**
+     * Whether the event is enabled in a running recording, see {@link ExEventProbe}.
+     * It must only be called if {@link ExEventProbe#isAvailable()}.
+     */
+    static boolean isRecorded() {
+        return PROBE.isRecorded();
+    }
+}
@@ -2,10 +2,13 @@ package su.piskun.exlib.spring;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
+import su.piskun.exlib.core.ExEventProbe;
 import su.piskun.exlib.core.HttpEx;
 
 import static su.piskun.exlib.spring.Constant.BAD_REQUEST_EXCEPTIONS;
@@ -14,21 +17,90 @@ import static su.piskun.exlib.spring.Constant.BAD_REQUEST_EXCEPTIONS;
 public class ExHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(ExHandler.class);
-
     private final ExMapper mapper;
+    private final ExHandlerListener[] listeners;
+    private final ExLatency latency;
+    private final ExLogLimiter limiter;
+    private final ExAsyncLogger asyncLogger;
+    private final ExStackRenderer stackRenderer;
+    private final boolean timed;
 
     public ExHandler(final ExMapper mapper) {
+        this(mapper, new ExHandlerListener[0], null, null, null, new ExStackRenderer());
+    }
+
+    @Autowired
+    public ExHandler(
+        final ExMapper mapper,
+        final ObjectProvider<ExHandlerListener> listeners,
+        final ObjectProvider<ExLatency> latency,
+        final ObjectProvider<ExLogLimiter> limiter,
+        final ObjectProvider<ExAsyncLogger> asyncLogger,
+        final ObjectProvider<ExStackRenderer> stackRenderer
+    ) {
+        this(
+            mapper,
+            listeners.orderedStream().toArray(ExHandlerListener[]::new),
+            latency.getIfAvailable(),
+            limiter.getIfAvailable(),
+            asyncLogger.getIfAvailable(),
+            stackRenderer.getIfAvailable(ExStackRenderer::new)
+        );
+    }
+
+    private ExHandler(
+        final ExMapper mapper,
+        final ExHandlerListener[] listeners,
+        final ExLatency latency,
+        final ExLogLimiter limiter,
+        final ExAsyncLogger asyncLogger,
+        final ExStackRenderer stackRenderer
+    ) {
         this.mapper = mapper;
+        this.listeners = listeners;
+        this.latency = latency;
+        this.limiter = limiter;
+        this.asyncLogger = asyncLogger;
+        this.stackRenderer = stackRenderer;
+        this.timed = listeners.length > 0 || latency != null;
     }
 
     @ResponseBody
     @ExceptionHandler
     public ResponseEntity<ExDto> handle(Exception e) {
+        ExHandledEvent event = ExEventProbe.isAvailable() && ExHandledEvent.isRecorded()
+            ? new ExHandledEvent()
+            : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = this.timed ? System.nanoTime() : 0;
         ExDto exDto = this.mapper.map(e);
+        int statusCode = getStatusCode(e);
+        long mapped = this.timed ? System.nanoTime() : 0;
 
-        log(e);
+        log(e, statusCode, exDto);
+        long logged = this.timed ? System.nanoTime() : 0;
 
-        return ResponseEntity.status(getStatusCode(e)).body(exDto);
+        if (this.latency != null) {
+            this.latency.record(e.getClass(), ExLatency.Phase.MAPPING, mapped - start);
+            this.latency.record(e.getClass(), ExLatency.Phase.LOGGING, logged - mapped);
+            this.latency.handled(e.getClass(), logged);
+        }
+        for (ExHandlerListener listener : this.listeners) {
+            listener.handled(e, statusCode, exDto.getCode(), logged - start);
+        }
+        if (event != null) {
+            event.end();
+            event.exceptionClass = e.getClass();
+            event.status = statusCode;
+            event.code = exDto.getCode();
+            if (!ExLatencyFilter.defer(event)) {
+                event.commit();
+            }
+        }
+
+        return ResponseEntity.status(statusCode).body(exDto);
     }
 
     private int getStatusCode(Exception e) {
@@ -41,11 +113,26 @@ public class ExHandler {
         return HttpEx.INTERNAL_SERVER_ERROR;
     }
 
-    private static void log(Exception e) {
-        if (LOG.isTraceEnabled()) {
-            e.printStackTrace();
+    private void log(Exception e, int statusCode, ExDto exDto) {
+        if (this.limiter != null && !this.limiter.tryLog(e.getClass(), statusCode, exDto.getCode())) {
+            return;
+        }
+        if (this.asyncLogger != null) {
+            this.asyncLogger.log(e, statusCode, exDto, this.stackRenderer);
         } else {
-            LOG.error(e.toString());
+            write(e, statusCode, exDto, this.stackRenderer);
         }
     }
+
+    /**
+     * Writes a handled exception to the log, on the request thread or on the {@link ExAsyncLogger} one.
+     * <p>
+     *     The exception is passed as an {@link ExLogRecord} argument, so {@link ExJsonEncoder} can write its fields.
+     *     On the trace level, the record carries a compact stack trace (see {@link ExStackRenderer}).
+     * </p>
+     */
+    static void write(Exception e, int statusCode, ExDto exDto, ExStackRenderer stackRenderer) {
+        String stackTrace = LOG.isTraceEnabled() ? stackRenderer.render(e) : null;
+        LOG.error("{}", new ExLogRecord(e, statusCode, exDto.getId(), stackTrace));
+    }
 }
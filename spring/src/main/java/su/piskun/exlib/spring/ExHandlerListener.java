@@ -0,0 +1,18 @@
+package su.piskun.exlib.spring;
+
+/**
+ * Receives the exceptions handled by {@link ExHandler}, e.g. to record metrics.
+ * All the beans of this type are notified; they are called on the request thread, so they should be cheap.
+ */
+@FunctionalInterface
+public interface ExHandlerListener {
+
+    /**
+     * Called after an exception is handled.
+     * @param exception the handled exception.
+     * @param status the HTTP status of the response.
+     * @param code the error code of the response.
+     * @param durationNanos the time spent by the handler, in nanoseconds.
+     */
+    void handled(Exception exception, int status, String code, long durationNanos);
+}
@@ -0,0 +1,210 @@
+package su.piskun.exlib.spring;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import su.piskun.exlib.core.ExJson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A Logback encoder that writes the log events as JSON lines:
+ * <pre>{@code
+ * {"timestamp":"...","level":"ERROR","logger":"su.piskun.exlib.spring.ExHandler","thread":"http-nio-8080-exec-1",
+ *  "mdc":{"requestId":"..."},"status":404,"error":{"class":"su.piskun.exlib.core.HttpEx","message":"user not found",...}}
+ * }</pre>
+ * <p>
+ *     The exceptions logged by {@link ExHandler} are written field by field (see {@link ExJson}),
+ *     instead of their {@link Object#toString()} representation. The other events get a {@code "message"} field,
+ *     and the stack trace of their throwable, if any.
+ *     The fields are encoded into a reusable per-thread UTF-8 buffer, so no intermediate strings are created.
+ * </p>
+ * <pre>{@code
+ * <appender name="JSON" class="ch.qos.logback.core.ConsoleAppender">
+ *     <encoder class="su.piskun.exlib.spring.ExJsonEncoder"/>
+ * </appender>
+ * }</pre>
+ */
+public class ExJsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    private final ThreadLocal<Utf8Buffer> buffers = ThreadLocal.withInitial(Utf8Buffer::new);
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        Utf8Buffer out = this.buffers.get();
+        out.reset();
+        try {
+            out.append("{\"timestamp\":");
+            ExJson.appendTimestamp(out, event.getTimeStamp() * NANOS_PER_MILLI);
+            out.append(",\"level\":\"").append(event.getLevel().toString());
+            out.append("\",\"logger\":");
+            ExJson.appendString(out, event.getLoggerName());
+            out.append(",\"thread\":");
+            ExJson.appendString(out, event.getThreadName());
+            appendMdc(out, event.getMDCPropertyMap());
+
+            ExLogRecord record = recordOf(event);
+            if (record != null) {
+                out.append(",\"status\":");
+                ExJson.appendInt(out, record.getStatus());
+                if (record.isConstant()) {
+                    out.append(",\"responseId\":");
+                    ExJson.appendUuid(out, record.getResponseId());
+                }
+                out.append(",\"error\":");
+                ExJson.append(out, record.getException());
+                if (record.getStackTrace() != null) {
+                    out.append(",\"stack\":");
+                    ExJson.appendString(out, record.getStackTrace().strip());
+                }
+            } else {
+                out.append(",\"message\":");
+                ExJson.appendString(out, event.getFormattedMessage());
+                IThrowableProxy throwable = event.getThrowableProxy();
+                if (throwable != null) {
+                    out.append(",\"error\":{\"class\":");
+                    ExJson.appendString(out, throwable.getClassName());
+                    out.append(",\"message\":");
+                    ExJson.appendString(out, throwable.getMessage());
+                    out.append(",\"stack\":");
+                    ExJson.appendString(out, ThrowableProxyUtil.asString(throwable));
+                    out.append('}');
+                }
+            }
+            out.append("}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static void appendMdc(Utf8Buffer out, Map<String, String> mdc) throws IOException {
+        if (mdc == null || mdc.isEmpty()) {
+            return;
+        }
+        out.append(",\"mdc\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> entry : mdc.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            ExJson.appendString(out, entry.getKey());
+            out.append(':');
+            ExJson.appendString(out, entry.getValue());
+        }
+        out.append('}');
+    }
+
+    private static ExLogRecord recordOf(ILoggingEvent event) {
+        Object[] arguments = event.getArgumentArray();
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                if (argument instanceof ExLogRecord record) {
+                    return record;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A growable byte buffer that encodes the appended characters in UTF-8.
+     * A buffer grown by a huge event is dropped on reset, so every logging thread does not keep one.
+     */
+    static final class Utf8Buffer implements Appendable {
+
+        static final int INITIAL_CAPACITY = 1024;
+        static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+        private byte[] bytes = new byte[INITIAL_CAPACITY];
+        private int size;
+        private char highSurrogate;
+
+        @Override
+        public Utf8Buffer append(CharSequence sequence) {
+            return append(sequence, 0, sequence.length());
+        }
+
+        @Override
+        public Utf8Buffer append(CharSequence sequence, int start, int end) {
+            for (int i = start; i < end; i++) {
+                append(sequence.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Utf8Buffer append(char c) {
+            if (this.highSurrogate != 0) {
+                char high = this.highSurrogate;
+                this.highSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    int codePoint = Character.toCodePoint(high, c);
+                    ensureCapacity(4);
+                    this.bytes[this.size++] = (byte) (0xF0 | codePoint >> 18);
+                    this.bytes[this.size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    this.bytes[this.size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    this.bytes[this.size++] = (byte) (0x80 | codePoint & 0x3F);
+                    return this;
+                }
+                append('?');
+            }
+
+            ensureCapacity(3);
+            if (c < 0x80) {
+                this.bytes[this.size++] = (byte) c;
+            } else if (c < 0x800) {
+                this.bytes[this.size++] = (byte) (0xC0 | c >> 6);
+                this.bytes[this.size++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c)) {
+                this.highSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                this.bytes[this.size++] = '?';
+            } else {
+                this.bytes[this.size++] = (byte) (0xE0 | c >> 12);
+                this.bytes[this.size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                this.bytes[this.size++] = (byte) (0x80 | c & 0x3F);
+            }
+            return this;
+        }
+
+        private void ensureCapacity(int length) {
+            if (this.size + length > this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + length));
+            }
+        }
+
+        void reset() {
+            if (this.bytes.length > MAX_RETAINED_CAPACITY) {
+                this.bytes = new byte[INITIAL_CAPACITY];
+            }
+            this.size = 0;
+            this.highSurrogate = 0;
+        }
+
+        int capacity() {
+            return this.bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(this.bytes, this.size);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package su.piskun.exlib.spring;
+
+import su.piskun.exlib.core.ExHistogram;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms of the {@link ExHandler} phases, overall and by exception class.
+ * <p>
+ *     The {@link Phase#MAPPING} and {@link Phase#LOGGING} phases are timed by the handler itself.
+ *     The response body is written by Spring after the handler returns, so the {@link Phase#WRITING} phase
+ *     is timed by {@link ExLatencyFilter}, from the end of the handler to the end of the request.
+ * </p>
+ * <p>
+ *     Recording does not allocate: the histograms are cached by exception class,
+ *     and the classes beyond the limit are only included in the overall histograms.
+ *     The percentiles are available via {@link #snapshot(Phase)} and {@link #snapshot(Class, Phase)}.
+ * </p>
+ * <p>
+ *     The histograms are opt-in, they are registered by the {@code exlib.latency.enabled=true} property
+ *     (see {@link ExLatencyConfig}).
+ * </p>
+ */
+public class ExLatency {
+
+    /**
+     * A phase of handling an exception.
+     */
+    public enum Phase {
+        /**
+         * Mapping an exception to {@link ExDto}.
+         */
+        MAPPING,
+
+        /**
+         * Logging an exception.
+         */
+        LOGGING,
+
+        /**
+         * Writing the response body.
+         */
+        WRITING
+    }
+
+    public static final int DEFAULT_MAX_TYPES = 100;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final int maxTypes;
+    private final ExHistogram[] total = histograms();
+    private final Map<Class<?>, ExHistogram[]> types = new ConcurrentHashMap<>();
+
+    /**
+     * The exception handled by the current request, which response body is not written yet.
+     */
+    private final ThreadLocal<Pending> pending = ThreadLocal.withInitial(Pending::new);
+
+    public ExLatency() {
+        this(DEFAULT_MAX_TYPES);
+    }
+
+    /**
+     * @param maxTypes the maximum number of exception classes to keep the histograms for.
+     */
+    public ExLatency(final int maxTypes) {
+        this.maxTypes = maxTypes;
+    }
+
+    /**
+     * Records the duration of a phase.
+     * @param type an exception class.
+     * @param phase a phase.
+     * @param nanos the duration in nanoseconds.
+     */
+    public void record(final Class<?> type, final Phase phase, final long nanos) {
+        this.total[phase.ordinal()].record(nanos);
+        ExHistogram[] histograms = histograms(type);
+        if (histograms != null) {
+            histograms[phase.ordinal()].record(nanos);
+        }
+    }
+
+    /**
+     * Marks the end of the handler, so the {@link Phase#WRITING} phase of the current request starts.
+     */
+    void handled(final Class<?> type, final long nanoTime) {
+        Pending pending = this.pending.get();
+        pending.type = type;
+        pending.handledAt = nanoTime;
+    }
+
+    /**
+     * Forgets an exception that was handled on the current thread outside of a request.
+     */
+    void begin() {
+        this.pending.get().type = null;
+    }
+
+    /**
+     * Records the {@link Phase#WRITING} phase of the current request, if an exception was handled.
+     */
+    void written() {
+        Pending pending = this.pending.get();
+        if (pending.type != null) {
+            record(pending.type, Phase.WRITING, System.nanoTime() - pending.handledAt);
+            pending.type = null;
+        }
+    }
+
+    /**
+     * Returns the latencies of a phase for all the exception classes.
+     * @param phase a phase.
+     * @return an instance of {@link ExHistogram.Snapshot}.
+     */
+    public ExHistogram.Snapshot snapshot(final Phase phase) {
+        return this.total[phase.ordinal()].snapshot();
+    }
+
+    /**
+     * Returns the latencies of a phase for an exception class.
+     * @param type an exception class.
+     * @param phase a phase.
+     * @return an instance of {@link ExHistogram.Snapshot}, empty if the class has no histograms.
+     */
+    public ExHistogram.Snapshot snapshot(final Class<?> type, final Phase phase) {
+        ExHistogram[] histograms = this.types.get(type);
+        return (histograms != null ? histograms[phase.ordinal()] : new ExHistogram()).snapshot();
+    }
+
+    /**
+     * Returns the exception classes that have their own histograms.
+     * @return a set of exception classes.
+     */
+    public Set<Class<?>> getTypes() {
+        return Set.copyOf(this.types.keySet());
+    }
+
+    /**
+     * Removes the recorded latencies.
+     */
+    public void reset() {
+        for (Phase phase : PHASES) {
+            this.total[phase.ordinal()].reset();
+        }
+        this.types.clear();
+    }
+
+    private ExHistogram[] histograms(final Class<?> type) {
+        ExHistogram[] histograms = this.types.get(type);
+        if (histograms != null) {
+            return histograms;
+        }
+        if (this.types.size() >= this.maxTypes) {
+            return null;
+        }
+        return this.types.computeIfAbsent(type, key -> histograms());
+    }
+
+    private static ExHistogram[] histograms() {
+        ExHistogram[] histograms = new ExHistogram[PHASES.length];
+        for (Phase phase : PHASES) {
+            histograms[phase.ordinal()] = new ExHistogram();
+        }
+        return histograms;
+    }
+
+    private static final class Pending {
+        private Class<?> type;
+        private long handledAt;
+    }
+}
@@ -0,0 +1,39 @@
+package su.piskun.exlib.spring;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Registers {@link ExLatency} and {@link ExLatencyFilter} in the servlet applications,
+ * when it's enabled by the {@value #ENABLED_PROPERTY} property.
+ */
+@Configuration(proxyBeanMethods = false)
+@Conditional(ExLatencyConfig.OnEnabled.class)
+class ExLatencyConfig {
+
+    static final String ENABLED_PROPERTY = "exlib.latency.enabled";
+
+    @Bean
+    ExLatency exLatency() {
+        return new ExLatency();
+    }
+
+    @Bean
+    ExLatencyFilter exLatencyFilter(ExLatency latency) {
+        return new ExLatencyFilter(latency);
+    }
+
+    static class OnEnabled implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ClassUtils.isPresent("javax.servlet.Filter", context.getClassLoader())
+                && context.getEnvironment().getProperty(ENABLED_PROPERTY, Boolean.class, false);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package su.piskun.exlib.spring;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import su.piskun.exlib.core.ExEventProbe;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * Times the {@link ExLatency.Phase#WRITING} phase: the response body is written by Spring
+ * after {@link ExHandler} returns, but before the request leaves this filter.
+ * The request is timed only if an exception was handled, the other requests cost a thread-local lookup.
+ * <p>
+ *     While {@link ExHandledEvent} is recorded, the response body bytes are counted as well,
+ *     and the event is committed once the body is written.
+ * </p>
+ * Asynchronous requests are not supported, since the handler and the filter run on different threads.
+ */
+public class ExLatencyFilter extends OncePerRequestFilter {
+
+    private static final ThreadLocal<CountingResponse> COUNTING = new ThreadLocal<>();
+
+    private final ExLatency latency;
+
+    public ExLatencyFilter(final ExLatency latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Defers an event of the current request until the response body is written.
+     * @return {@code false} if the body is not counted, so the event should be committed right away.
+     */
+    static boolean defer(ExHandledEvent event) {
+        CountingResponse counting = COUNTING.get();
+        if (counting == null) {
+            return false;
+        }
+        counting.event = event;
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        this.latency.begin();
+        if (!ExEventProbe.isAvailable() || !ExHandledEvent.isRecorded()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                this.latency.written();
+            }
+            return;
+        }
+
+        CountingResponse counting = new CountingResponse(response);
+        COUNTING.set(counting);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            this.latency.written();
+            COUNTING.remove();
+            counting.commit();
+        }
+    }
+
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private ExHandledEvent event;
+        private ServletOutputStream outputStream;
+        private long count;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (this.outputStream == null) {
+                this.outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return this.outputStream;
+        }
+
+        void commit() {
+            if (this.event != null) {
+                this.event.bodySize = this.count;
+                this.event.commit();
+            }
+        }
+
+        private class CountingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            CountingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                this.delegate.write(b);
+                CountingResponse.this.count++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.delegate.write(b, off, len);
+                CountingResponse.this.count += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                this.delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                this.delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return this.delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                this.delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package su.piskun.exlib.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of exceptions logged by {@link ExHandler}, so a failing dependency does not flood the logs.
+ * <p>
+ *     The similar exceptions, i.e. the ones with the same status, code and class, share a limit:
+ * </p>
+ * <ul>
+ *     <li>only one of every {@code sampleRate} exceptions is considered for logging,</li>
+ *     <li>the considered ones are logged at {@code permitsPerSecond} with bursts of up to {@code burst}.</li>
+ * </ul>
+ * <p>
+ *     The number of suppressed exceptions is logged as a "suppressed N similar errors" summary
+ *     every {@code summaryInterval} by a daemon thread, and once more when the limiter is closed,
+ *     so the end of an error storm is reported as well.
+ * </p>
+ * <p>
+ *     The limiter never blocks: every rate limit is a token bucket kept in a single {@link AtomicLong}
+ *     (the generic cell rate algorithm), and the counters are atomic as well.
+ *     The number of limits is bounded by {@code maxKeys}, the rest of the exceptions share a single limit.
+ * </p>
+ */
+public class ExLogLimiter implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_KEYS = 1000;
+    public static final Duration DEFAULT_SUMMARY_INTERVAL = Duration.ofMinutes(1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExLogLimiter.class);
+    private static final String OTHER = "OTHER";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int sampleRate;
+    private final int maxKeys;
+
+    private final Map<Key, Limit> limits = new ConcurrentHashMap<>();
+    private final Limit other = new Limit(0, OTHER, null);
+    private final AtomicInteger keys = new AtomicInteger();
+    private final ScheduledExecutorService summaries;
+
+    /**
+     * @param permitsPerSecond the number of similar exceptions to log per second.
+     * @param burst the number of similar exceptions that can be logged at once.
+     */
+    public ExLogLimiter(final double permitsPerSecond, final int burst) {
+        this(permitsPerSecond, burst, 1, DEFAULT_SUMMARY_INTERVAL, DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * @param permitsPerSecond the number of similar exceptions to log per second.
+     * @param burst the number of similar exceptions that can be logged at once.
+     * @param sampleRate one of how many similar exceptions is considered for logging, 1 to consider every one.
+     * @param summaryInterval how often the numbers of the suppressed exceptions are logged.
+     * @param maxKeys the maximum number of the limits.
+     */
+    public ExLogLimiter(
+        final double permitsPerSecond,
+        final int burst,
+        final int sampleRate,
+        final Duration summaryInterval,
+        final int maxKeys
+    ) {
+        this(permitsPerSecond, burst, sampleRate, summaryInterval, maxKeys, true);
+    }
+
+    ExLogLimiter(
+        final double permitsPerSecond,
+        final int burst,
+        final int sampleRate,
+        final Duration summaryInterval,
+        final int maxKeys,
+        final boolean schedule
+    ) {
+        if (!(permitsPerSecond > 0) || burst < 1 || sampleRate < 1 || maxKeys < 0) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        if (permitsPerSecond > NANOS_PER_SECOND) {
+            throw new IllegalArgumentException("Permits per second must be at most 1e9: " + permitsPerSecond);
+        }
+        if (summaryInterval.isNegative() || summaryInterval.isZero()) {
+            throw new IllegalArgumentException("Summary interval must be positive: " + summaryInterval);
+        }
+        this.intervalNanos = (long) (NANOS_PER_SECOND / permitsPerSecond);
+        // Saturates, since a burst longer than 292 years is the same as an unlimited one.
+        this.burstNanos = this.intervalNanos > Long.MAX_VALUE / burst ? Long.MAX_VALUE : this.intervalNanos * burst;
+        this.sampleRate = sampleRate;
+        this.maxKeys = maxKeys;
+
+        if (schedule) {
+            this.summaries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "exlib-log-limiter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long period = summaryInterval.toNanos();
+            this.summaries.scheduleAtFixedRate(this::summarize, period, period, TimeUnit.NANOSECONDS);
+        } else {
+            this.summaries = null;
+        }
+    }
+
+    /**
+     * Whether an exception should be logged. Counts the exception as suppressed otherwise.
+     * @param type the exception class.
+     * @param status the response status.
+     * @param code the error code.
+     * @return {@code true} if the exception should be logged.
+     */
+    public boolean tryLog(final Class<?> type, final int status, final String code) {
+        return tryLog(type, status, code, System.nanoTime());
+    }
+
+    boolean tryLog(final Class<?> type, final int status, final String code, final long nanoTime) {
+        return limit(type, status, code).tryAcquire(nanoTime);
+    }
+
+    private Limit limit(final Class<?> type, final int status, final String code) {
+        final Key key = new Key(status, code != null ? code : OTHER, type);
+        final Limit limit = this.limits.get(key);
+        if (limit != null) {
+            return limit;
+        }
+        // The limit can be exceeded slightly by the concurrent registrations, it's fine for a guard.
+        if (this.keys.get() >= this.maxKeys) {
+            return this.other;
+        }
+        return this.limits.computeIfAbsent(key, k -> {
+            this.keys.incrementAndGet();
+            return new Limit(k.status(), k.code(), k.type());
+        });
+    }
+
+    /**
+     * Logs the numbers of the exceptions suppressed since the previous summary.
+     */
+    void summarize() {
+        this.limits.values().forEach(this::summarize);
+        summarize(this.other);
+    }
+
+    private void summarize(final Limit limit) {
+        final long suppressed = limit.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            LOG.warn(
+                "Suppressed {} similar errors: status={}, code={}, exception={}",
+                suppressed,
+                limit.status,
+                limit.code,
+                limit.type != null ? limit.type.getName() : OTHER
+            );
+        }
+    }
+
+    /**
+     * Stops the summaries, and logs the last one.
+     */
+    @Override
+    public void close() {
+        if (this.summaries != null) {
+            this.summaries.shutdownNow();
+        }
+        summarize();
+    }
+
+    private record Key(int status, String code, Class<?> type) {}
+
+    private final class Limit {
+        private final int status;
+        private final String code;
+        private final Class<?> type;
+
+        /**
+         * The theoretical arrival time of the next permit (the generic cell rate algorithm).
+         */
+        private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong seen = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Limit(final int status, final String code, final Class<?> type) {
+            this.status = status;
+            this.code = code;
+            this.type = type;
+        }
+
+        private boolean tryAcquire(final long nanoTime) {
+            if (ExLogLimiter.this.sampleRate > 1 && this.seen.getAndIncrement() % ExLogLimiter.this.sampleRate != 0) {
+                this.suppressed.incrementAndGet();
+                return false;
+            }
+            while (true) {
+                final long arrival = this.arrival.get();
+                final long start = arrival == Long.MIN_VALUE || arrival - nanoTime < 0 ? nanoTime : arrival;
+                if (start - nanoTime >= ExLogLimiter.this.burstNanos) {
+                    this.suppressed.incrementAndGet();
+                    return false;
+                }
+                if (this.arrival.compareAndSet(arrival, start + ExLogLimiter.this.intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package su.piskun.exlib.spring;
+
+import su.piskun.exlib.core.Ex;
+
+import java.util.UUID;
+
+/**
+ * A handled exception as it's logged by {@link ExHandler}.
+ * <p>
+ *     It's passed to the logger as an argument, so the text layouts log its {@link #toString()},
+ *     while the structured encoders (e.g. {@link ExJsonEncoder}) write its fields one by one.
+ * </p>
+ */
+public final class ExLogRecord {
+
+    private final Exception exception;
+    private final int status;
+    private final UUID responseId;
+    private final String stackTrace;
+
+    public ExLogRecord(final Exception exception, final int status, final UUID responseId) {
+        this(exception, status, responseId, null);
+    }
+
+    /**
+     * @param exception a handled exception.
+     * @param status the HTTP status of the response.
+     * @param responseId the identifier of the response.
+     * @param stackTrace the stack trace rendered by {@link ExStackRenderer}, or {@code null}.
+     */
+    public ExLogRecord(final Exception exception, final int status, final UUID responseId, final String stackTrace) {
+        this.exception = exception;
+        this.status = status;
+        this.responseId = responseId;
+        this.stackTrace = stackTrace;
+    }
+
+    public Exception getException() {
+        return this.exception;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    public UUID getResponseId() {
+        return this.responseId;
+    }
+
+    /**
+     * The stack trace rendered by {@link ExStackRenderer}, it's only there on the trace level.
+     */
+    public String getStackTrace() {
+        return this.stackTrace;
+    }
+
+    /**
+     * Whether the exception is a constant one, which has no identifier of its own,
+     * so the response identifier is logged to correlate it.
+     */
+    public boolean isConstant() {
+        return this.exception instanceof Ex ex && ex.isConstant();
+    }
+
+    @Override
+    public String toString() {
+        final String result = isConstant() ? this.exception + " responseId=" + this.responseId : this.exception.toString();
+        return this.stackTrace != null ? result + this.stackTrace : result;
+    }
+}
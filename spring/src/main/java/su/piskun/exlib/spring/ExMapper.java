@@ -2,11 +2,9 @@ package su.piskun.exlib.spring;
 
 import org.springframework.stereotype.Component;
 import su.piskun.exlib.core.Ex;
+import su.piskun.exlib.core.ExSettings;
 import su.piskun.exlib.core.HttpEx;
 
-import java.time.Instant;
-import java.util.UUID;
-
 import static su.piskun.exlib.spring.Constant.BAD_REQUEST_EXCEPTIONS;
 
 @Component
@@ -17,9 +15,11 @@ class ExMapper {
     }
 
     ExDto map(Ex source) {
+        // Constants are shared, so every response gets its own identifier and timestamp.
+        boolean constant = source.isConstant();
         return ExDto.builder()
-            .id(source.getId())
-            .timestamp(source.getTimestamp())
+            .id(constant ? ExSettings.getIdGenerator().generate() : source.getId())
+            .timestamp(constant ? ExSettings.getClock().instant() : source.getTimestamp())
             .message(source.getMessage())
             .code(source.getCode())
             .context(source.getContext())
@@ -28,8 +28,8 @@ class ExMapper {
 
     ExDto mapDefault(Exception source) {
         return ExDto.builder()
-            .id(UUID.randomUUID())
-            .timestamp(Instant.now())
+            .id(ExSettings.getIdGenerator().generate())
+            .timestamp(ExSettings.getClock().instant())
             .message(source.getMessage())
             .code(mapCode(source))
             .build();
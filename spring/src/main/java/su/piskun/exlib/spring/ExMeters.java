@@ -0,0 +1,178 @@
+package su.piskun.exlib.spring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import su.piskun.exlib.core.Ex;
+import su.piskun.exlib.core.HttpEx;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the exceptions handled by {@link ExHandler} as Micrometer meters:
+ * <ul>
+ *     <li>{@value #COUNTER_NAME} counter,</li>
+ *     <li>{@value #TIMER_NAME} timer of the handler,</li>
+ * </ul>
+ * both tagged by {@code status}, {@code code} and {@code exception} (the simple class name).
+ * <p>
+ *     The meters are created once per combination of tags and cached by the exception and the code tags,
+ *     then by the status, so recording a handled exception doesn't allocate.
+ *     To keep the number of meters bounded, the codes and the exception classes beyond the limit
+ *     are tagged as {@value #OTHER}. The default codes are registered upfront, so they never fall into it.
+ * </p>
+ */
+public class ExMeters implements ExHandlerListener {
+
+    public static final String COUNTER_NAME = "exlib.exceptions";
+    public static final String TIMER_NAME = "exlib.handler";
+    public static final String OTHER = "OTHER";
+    public static final int DEFAULT_MAX_TAG_VALUES = 100;
+
+    private final MeterRegistry registry;
+    private final int maxTagValues;
+
+    private final Map<String, String> codeTags = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> exceptionTags = new ConcurrentHashMap<>();
+
+    /**
+     * Cached meters by the exception tag, then by the code tag.
+     */
+    private final Map<String, Map<String, ByStatus>> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry a registry to create the meters in.
+     */
+    public ExMeters(final MeterRegistry registry) {
+        this(registry, DEFAULT_MAX_TAG_VALUES, List.of());
+    }
+
+    /**
+     * @param registry a registry to create the meters in.
+     * @param maxTagValues the maximum number of distinct codes, and of distinct exception classes.
+     * @param codes the codes to register upfront, since they are known to be bounded (e.g. the API error codes).
+     */
+    public ExMeters(final MeterRegistry registry, final int maxTagValues, final Collection<String> codes) {
+        this.registry = registry;
+        this.maxTagValues = maxTagValues;
+
+        this.codeTags.put(Ex.DEFAULT_CODE, Ex.DEFAULT_CODE);
+        this.codeTags.put(HttpEx.CLIENT_ERROR, HttpEx.CLIENT_ERROR);
+        this.codeTags.put(HttpEx.SERVER_ERROR, HttpEx.SERVER_ERROR);
+        codes.forEach(code -> this.codeTags.put(code, code));
+    }
+
+    @Override
+    public void handled(final Exception exception, final int status, final String code, final long durationNanos) {
+        final Meters meters = meters(status, codeTag(code), exceptionTag(exception.getClass()));
+        meters.counter.increment();
+        meters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String codeTag(final String code) {
+        if (code == null) {
+            return Ex.DEFAULT_CODE;
+        }
+        final String tag = this.codeTags.get(code);
+        return tag != null ? tag : register(this.codeTags, code, code);
+    }
+
+    private String exceptionTag(final Class<?> type) {
+        final String tag = this.exceptionTags.get(type);
+        if (tag != null) {
+            return tag;
+        }
+        // Anonymous and local classes have no simple name.
+        final String name = type.getSimpleName();
+        return register(this.exceptionTags, type, name.isEmpty() ? type.getName() : name);
+    }
+
+    private <K> String register(final Map<K, String> tags, final K key, final String value) {
+        // The limit can be exceeded slightly by the concurrent registrations, it's fine for a guard.
+        if (tags.size() >= this.maxTagValues) {
+            return OTHER;
+        }
+        final String tag = tags.putIfAbsent(key, value);
+        return tag != null ? tag : value;
+    }
+
+    private Meters meters(final int status, final String code, final String exception) {
+        Map<String, ByStatus> byCode = this.meters.get(exception);
+        if (byCode == null) {
+            byCode = this.meters.computeIfAbsent(exception, key -> new ConcurrentHashMap<>());
+        }
+        ByStatus byStatus = byCode.get(code);
+        if (byStatus == null) {
+            byStatus = byCode.computeIfAbsent(code, key -> new ByStatus(key, exception));
+        }
+        return byStatus.get(status);
+    }
+
+    /**
+     * Meters of an exception and a code by status, there are only a few statuses per code,
+     * so a linear scan of a copy-on-write array is enough.
+     */
+    private final class ByStatus {
+        private final String code;
+        private final String exception;
+        private volatile Meters[] meters = new Meters[0];
+
+        private ByStatus(final String code, final String exception) {
+            this.code = code;
+            this.exception = exception;
+        }
+
+        private Meters get(final int status) {
+            final Meters[] meters = this.meters;
+            for (final Meters candidate : meters) {
+                if (candidate.status == status) {
+                    return candidate;
+                }
+            }
+            return register(status);
+        }
+
+        private synchronized Meters register(final int status) {
+            final Meters[] meters = this.meters;
+            for (final Meters candidate : meters) {
+                if (candidate.status == status) {
+                    return candidate;
+                }
+            }
+            final Meters created = new Meters(status, this.code, this.exception);
+            final Meters[] copy = Arrays.copyOf(meters, meters.length + 1);
+            copy[meters.length] = created;
+            this.meters = copy;
+            return created;
+        }
+    }
+
+    private final class Meters {
+        private final int status;
+        private final Counter counter;
+        private final Timer timer;
+
+        private Meters(final int status, final String code, final String exception) {
+            final Tags tags = Tags.of(
+                "status", Integer.toString(status),
+                "code", code,
+                "exception", exception
+            );
+            this.status = status;
+            this.counter = Counter.builder(COUNTER_NAME)
+                .description("Exceptions handled by the exlib handler")
+                .tags(tags)
+                .register(ExMeters.this.registry);
+            this.timer = Timer.builder(TIMER_NAME)
+                .description("Time spent by the exlib handler")
+                .tags(tags)
+                .register(ExMeters.this.registry);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package su.piskun.exlib.spring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Registers {@link ExMeters} when Micrometer is on the classpath,
+ * unless it's disabled by the {@value #ENABLED_PROPERTY} property.
+ * The meters are created in the application {@link MeterRegistry}, or in the global one if there is none.
+ */
+@Configuration(proxyBeanMethods = false)
+@Conditional(ExMetersConfig.OnMicrometer.class)
+class ExMetersConfig {
+
+    static final String ENABLED_PROPERTY = "exlib.metrics.enabled";
+
+    @Bean
+    ExMeters exMeters(ObjectProvider<MeterRegistry> registry) {
+        return new ExMeters(registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    static class OnMicrometer implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry", context.getClassLoader())
+                && context.getEnvironment().getProperty(ENABLED_PROPERTY, Boolean.class, true);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package su.piskun.exlib.spring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Renders compact stack traces for the logs, it's used by {@link ExHandler} when the trace level is enabled.
+ * <p>
+ *     Compared to {@link Throwable#printStackTrace()}:
+ * </p>
+ * <ul>
+ *     <li>the consecutive framework frames (Spring, servlet container, reflection) are folded into a single
+ *     {@code ... 42 frames in org.springframework, org.apache.catalina} line,</li>
+ *     <li>at most {@code maxDepth} lines are rendered per throwable,
+ *     including the suppressed ones and their causes,</li>
+ *     <li>the trace is identified by a hash of its frames, and the frames of a trace are rendered
+ *     only the first time the hash is seen, then only the {@code [stack=...]} hash is.</li>
+ * </ul>
+ * <p>
+ *     The seen hashes are kept in a fixed-size table without locks,
+ *     a hash that is evicted by a colliding one is rendered in full again.
+ * </p>
+ */
+public final class ExStackRenderer {
+
+    public static final int DEFAULT_MAX_DEPTH = 32;
+    public static final List<String> DEFAULT_FOLDED_PACKAGES = List.of(
+        "org.springframework.",
+        "javax.servlet.",
+        "jakarta.servlet.",
+        "org.apache.catalina.",
+        "org.apache.coyote.",
+        "org.apache.tomcat.",
+        "java.lang.reflect.",
+        "java.lang.invoke.",
+        "jdk.internal.reflect.",
+        "sun.reflect."
+    );
+
+    /**
+     * The maximum number of throwables rendered, counting the causes and the suppressed ones.
+     */
+    static final int MAX_THROWABLES = 16;
+
+    private static final int SEEN_SIZE = 4096;
+    private static final long HASH_MULTIPLIER = 0x100000001B3L;
+
+    private final int maxDepth;
+    private final String[] foldedPackages;
+    private final String[] foldedLabels;
+    private final AtomicLongArray seen = new AtomicLongArray(SEEN_SIZE);
+
+    public ExStackRenderer() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_FOLDED_PACKAGES);
+    }
+
+    /**
+     * @param maxDepth the maximum number of lines rendered per throwable.
+     * @param foldedPackages the prefixes of the classes whose frames are folded, e.g. {@code "org.springframework."}.
+     */
+    public ExStackRenderer(final int maxDepth, final Collection<String> foldedPackages) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth must be positive: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        this.foldedPackages = foldedPackages.toArray(String[]::new);
+        this.foldedLabels = new String[this.foldedPackages.length];
+        for (int i = 0; i < this.foldedPackages.length; i++) {
+            final String foldedPackage = this.foldedPackages[i];
+            this.foldedLabels[i] = foldedPackage.endsWith(".")
+                ? foldedPackage.substring(0, foldedPackage.length() - 1)
+                : foldedPackage;
+        }
+    }
+
+    /**
+     * Renders the stack trace of a throwable, its suppressed throwables and its causes,
+     * without the throwable itself:
+     * <pre>{@code
+     *  [stack=5f1d3a0c2b9e4d71]
+     *     at com.example.UserService.find(UserService.java:42)
+     *     ... 12 frames in org.springframework, java.lang.reflect
+     *     at com.example.UserController.get(UserController.java:17)
+     *     Suppressed: java.io.IOException: close failed
+     *         at com.example.UserClient.close(UserClient.java:51)
+     *         ... 14 more
+     * Caused by: java.io.IOException: connection reset
+     *     at com.example.UserClient.get(UserClient.java:30)
+     *     ... 25 more
+     * }</pre>
+     * @param throwable a throwable to render.
+     * @return the rendered stack trace, or only its hash if it was rendered before.
+     */
+    public String render(final Throwable throwable) {
+        final List<Entry> entries = new ArrayList<>();
+        final long hash = collect(entries, throwable, "", "", null, 0);
+
+        final StringBuilder out = new StringBuilder(" [stack=").append(Long.toHexString(hash)).append(']');
+        if (!firstSeen(hash)) {
+            return out.toString();
+        }
+
+        appendFrames(out, "", entries.get(0).trace(), null);
+        for (int i = 1; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            out.append('\n').append(entry.prefix()).append(entry.caption()).append(entry.throwable());
+            appendFrames(out, entry.prefix(), entry.trace(), entry.enclosing());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Adds a throwable, then its suppressed throwables and its causes to the entries in the order
+     * {@link Throwable#printStackTrace()} prints them, skipping the ones that are already added.
+     * @return the hash of the entries.
+     */
+    private static long collect(
+        final List<Entry> entries,
+        final Throwable throwable,
+        final String caption,
+        final String prefix,
+        final StackTraceElement[] enclosing,
+        final long enclosingHash
+    ) {
+        if (entries.size() >= MAX_THROWABLES || contains(entries, throwable)) {
+            return enclosingHash;
+        }
+        final StackTraceElement[] trace = throwable.getStackTrace();
+        entries.add(new Entry(caption, prefix, throwable, trace, enclosing));
+
+        long hash = (enclosingHash ^ caption.hashCode()) * HASH_MULTIPLIER;
+        hash = (hash ^ throwable.getClass().getName().hashCode()) * HASH_MULTIPLIER;
+        for (StackTraceElement element : trace) {
+            hash = (hash ^ element.hashCode()) * HASH_MULTIPLIER;
+        }
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            hash = collect(entries, suppressed, "Suppressed: ", prefix + "\t", trace, hash);
+        }
+        final Throwable cause = throwable.getCause();
+        return cause != null ? collect(entries, cause, "Caused by: ", prefix, trace, hash) : hash;
+    }
+
+    private static boolean contains(final List<Entry> entries, final Throwable throwable) {
+        for (Entry entry : entries) {
+            if (entry.throwable() == throwable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks a hash as seen.
+     * @return {@code true} if the hash was not seen before.
+     */
+    private boolean firstSeen(final long hash) {
+        final int slot = (int) (hash ^ hash >>> 32) & (SEEN_SIZE - 1);
+        return this.seen.getAndSet(slot, hash) != hash;
+    }
+
+    /**
+     * Appends the frames that are not in common with the enclosing trace, the way {@link Throwable} does it.
+     */
+    private void appendFrames(
+        final StringBuilder out,
+        final String prefix,
+        final StackTraceElement[] trace,
+        final StackTraceElement[] enclosing
+    ) {
+        int unique = trace.length;
+        if (enclosing != null) {
+            for (int i = enclosing.length - 1; unique > 0 && i >= 0 && trace[unique - 1].equals(enclosing[i]); i--) {
+                unique--;
+            }
+        }
+
+        int lines = 0;
+        int folded = 0;
+        int skipped = 0;
+        final List<String> packages = new ArrayList<>();
+        for (int i = 0; i < unique; i++) {
+            final String foldedPackage = foldedPackage(trace[i]);
+            if (foldedPackage != null) {
+                if (!packages.contains(foldedPackage)) {
+                    packages.add(foldedPackage);
+                }
+                folded++;
+                continue;
+            }
+            if (folded > 0 && lines < this.maxDepth) {
+                appendFolded(out, prefix, folded, packages);
+                lines++;
+                folded = 0;
+            }
+            if (lines >= this.maxDepth) {
+                skipped = unique - i + folded;
+                folded = 0;
+                break;
+            }
+            out.append('\n').append(prefix).append("\tat ").append(trace[i]);
+            lines++;
+        }
+        if (folded > 0 && lines < this.maxDepth) {
+            appendFolded(out, prefix, folded, packages);
+        } else {
+            skipped += folded;
+        }
+        if (skipped > 0) {
+            out.append('\n').append(prefix).append("\t... ").append(skipped).append(" more frames");
+        }
+        if (unique < trace.length) {
+            out.append('\n').append(prefix).append("\t... ").append(trace.length - unique).append(" more");
+        }
+    }
+
+    private static void appendFolded(
+        final StringBuilder out,
+        final String prefix,
+        final int folded,
+        final List<String> packages
+    ) {
+        out.append('\n').append(prefix).append("\t... ").append(folded).append(folded == 1 ? " frame in " : " frames in ");
+        out.append(String.join(", ", packages));
+        packages.clear();
+    }
+
+    private String foldedPackage(final StackTraceElement element) {
+        final String className = element.getClassName();
+        for (int i = 0; i < this.foldedPackages.length; i++) {
+            if (className.startsWith(this.foldedPackages[i])) {
+                return this.foldedLabels[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A throwable to render with the caption and the indentation of its first line,
+     * and the trace of the enclosing throwable to omit the common frames.
+     */
+    private record Entry(
+        String caption,
+        String prefix,
+        Throwable throwable,
+        StackTraceElement[] trace,
+        StackTraceElement[] enclosing
+    ) {}
+}
@@ -0,0 +1,75 @@
+package su.piskun.exlib.spring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import su.piskun.exlib.test.Allocations;
+import su.piskun.exlib.core.ExSettings;
+import su.piskun.exlib.core.HttpEx;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the number of bytes allocated to turn an exception into a response body (see {@link Allocations}).
+ */
+class ExAllocationTest {
+
+    // The DTO, its builder, the UUID and the Instant (120 bytes on JDK 17).
+    private static final long MAP_BUDGET = 160;
+    // The mapping plus the Jackson generator state and the field values text (1280 bytes on JDK 17).
+    private static final long MAP_AND_SERIALIZE_BUDGET = 1536;
+
+    // The meters are cached, the simple registry counters and timers don't allocate either.
+    private static final long METERS_BUDGET = 0;
+
+    private final ExMapper mapper = new ExMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final HttpEx exception = HttpEx.badRequest()
+        .message("invalid request")
+        .context("field", "email")
+        .stackless()
+        .build();
+
+    private Object sink;
+
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
+    @Test
+    void map() throws Exception {
+        // When.
+        long bytes = Allocations.allocatedBytes(() -> sink = this.mapper.map(this.exception));
+
+        // Then.
+        assertThat(bytes).isLessThanOrEqualTo(MAP_BUDGET);
+    }
+
+    @Test
+    void mapAndSerialize() throws Exception {
+        // When.
+        long bytes = Allocations.allocatedBytes(
+            () -> this.objectMapper.writeValue(OutputStream.nullOutputStream(), this.mapper.map(this.exception)));
+
+        // Then.
+        assertThat(bytes).isLessThanOrEqualTo(MAP_AND_SERIALIZE_BUDGET);
+    }
+
+    @Test
+    void meters() throws Exception {
+        // Given.
+        ExMeters meters = new ExMeters(new SimpleMeterRegistry());
+
+        // When.
+        long bytes = Allocations.allocatedBytes(
+            () -> meters.handled(this.exception, HttpEx.BAD_REQUEST, HttpEx.CLIENT_ERROR, 1_000));
+
+        // Then.
+        assertThat(bytes).isLessThanOrEqualTo(METERS_BUDGET);
+    }
+}
@@ -0,0 +1,173 @@
+package su.piskun.exlib.spring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExAsyncLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ExHandler.class);
+    private final ExStackRenderer stackRenderer = new ExStackRenderer();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>() {
+        @Override
+        protected void append(final ILoggingEvent event) {
+            // Captures the thread name and the MDC on the logging thread, the way the asynchronous appenders do.
+            event.prepareForDeferredProcessing();
+            super.append(event);
+        }
+    };
+
+    @BeforeEach
+    void init() {
+        this.appender.start();
+        this.logger.addAppender(this.appender);
+    }
+
+    @AfterEach
+    void reset() {
+        this.logger.detachAppender(this.appender);
+        this.logger.setLevel(null);
+    }
+
+    @Test
+    void drop() {
+        // Given.
+        ExAsyncLogger sut = new ExAsyncLogger(2, ExAsyncLogger.Overflow.DROP, false);
+        ExDto exDto = ExDto.builder().build();
+
+        // When.
+        boolean first = sut.log(new IllegalStateException("first"), 500, exDto, this.stackRenderer);
+        boolean second = sut.log(new IllegalStateException("second"), 500, exDto, this.stackRenderer);
+        boolean third = sut.log(new IllegalStateException("third"), 500, exDto, this.stackRenderer);
+        int drained = sut.drain();
+        boolean fourth = sut.log(new IllegalStateException("fourth"), 500, exDto, this.stackRenderer);
+        sut.drain();
+
+        // Then.
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(drained).isEqualTo(2);
+        assertThat(fourth).isTrue();
+        assertThat(sut.getDropped()).isEqualTo(1);
+        assertThat(sut.getLogged()).isEqualTo(3);
+        assertThat(this.appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+            "java.lang.IllegalStateException: first",
+            "java.lang.IllegalStateException: second",
+            "java.lang.IllegalStateException: fourth"
+        );
+    }
+
+    @Test
+    void concurrentProducers() throws Exception {
+        // Given.
+        ExAsyncLogger sut = new ExAsyncLogger(16, ExAsyncLogger.Overflow.BLOCK);
+        ExDto exDto = ExDto.builder().build();
+        List<Thread> threads = new ArrayList<>();
+
+        // When.
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    sut.log(new IllegalStateException(), 500, exDto, this.stackRenderer);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sut.close();
+
+        // Then.
+        assertThat(sut.getDropped()).isZero();
+        assertThat(sut.getLogged()).isEqualTo(1000);
+        assertThat(this.appender.list).hasSize(1000);
+        assertThat(Thread.currentThread().getName()).isNotEqualTo(this.appender.list.get(0).getThreadName());
+    }
+
+    @Test
+    void requestContext() throws Exception {
+        // Given.
+        ExAsyncLogger sut = new ExAsyncLogger(2, ExAsyncLogger.Overflow.DROP, false);
+        ExDto exDto = ExDto.builder().build();
+        Thread producer = new Thread(() -> {
+            MDC.put("requestId", "42");
+            sut.log(new IllegalStateException(), 500, exDto, this.stackRenderer);
+            MDC.clear();
+        }, "http-nio-8080-exec-1");
+        producer.start();
+        producer.join();
+        String name = Thread.currentThread().getName();
+
+        // When.
+        sut.drain();
+
+        // Then.
+        assertThat(this.appender.list).hasSize(1);
+        assertThat(this.appender.list.get(0).getThreadName()).isEqualTo("http-nio-8080-exec-1");
+        assertThat(this.appender.list.get(0).getMDCPropertyMap()).containsEntry("requestId", "42");
+        assertThat(Thread.currentThread().getName()).isEqualTo(name);
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void wakeUp() throws Exception {
+        // Given.
+        ExAsyncLogger sut = new ExAsyncLogger(16, ExAsyncLogger.Overflow.DROP);
+        ExDto exDto = ExDto.builder().build();
+        Thread.sleep(50);
+
+        // When.
+        sut.log(new IllegalStateException(), 500, exDto, this.stackRenderer);
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (sut.getLogged() == 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+
+        // Then.
+        assertThat(sut.getLogged()).isEqualTo(1);
+        sut.close();
+    }
+
+    @Test
+    void failingRecord() throws Exception {
+        // Given.
+        ExAsyncLogger sut = new ExAsyncLogger(16, ExAsyncLogger.Overflow.BLOCK);
+        ExDto exDto = ExDto.builder().build();
+        Exception failing = new IllegalStateException() {
+            @Override
+            public StackTraceElement[] getStackTrace() {
+                throw new UnsupportedOperationException("broken record");
+            }
+        };
+        this.logger.setLevel(Level.TRACE);
+
+        // When.
+        sut.log(failing, 500, exDto, this.stackRenderer);
+        sut.log(new IllegalStateException("next"), 500, exDto, this.stackRenderer);
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (sut.getLogged() == 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        sut.close();
+
+        // Then.
+        assertThat(sut.getFailed()).isEqualTo(1);
+        assertThat(sut.getLogged()).isEqualTo(1);
+        assertThat(this.appender.list).hasSize(1);
+        assertThat(this.appender.list.get(0).getFormattedMessage()).startsWith("java.lang.IllegalStateException: next");
+    }
+}
@@ -0,0 +1,61 @@
+package su.piskun.exlib.spring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import su.piskun.exlib.core.HttpEx;
+
+import javax.servlet.http.HttpServlet;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExHandledEventTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recorded() throws Exception {
+        // Given.
+        Path file = this.dir.resolve("handled.jfr");
+        ExHandler handler = new ExHandler(new ExMapper());
+        ExLatencyFilter filter = new ExLatencyFilter(new ExLatency());
+        MockFilterChain chain = new MockFilterChain(
+            new HttpServlet() {},
+            (request, response, next) -> {
+                handler.handle(HttpEx.notFound("message"));
+                response.getOutputStream().write(new byte[42]);
+            }
+        );
+
+        // When.
+        try (Recording recording = new Recording()) {
+            recording.enable(ExHandledEvent.NAME);
+            recording.start();
+            filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+            handler.handle(new IllegalStateException());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then.
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(ExHandledEvent.NAME))
+            .toList();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getClass("exceptionClass").getName()).isEqualTo(HttpEx.class.getName());
+        assertThat(events.get(0).getInt("status")).isEqualTo(HttpEx.NOT_FOUND);
+        assertThat(events.get(0).getString("code")).isEqualTo(HttpEx.CLIENT_ERROR);
+        assertThat(events.get(0).getLong("bodySize")).isEqualTo(42);
+        assertThat(events.get(0).getDuration()).isPositive();
+        assertThat(events.get(1).getInt("status")).isEqualTo(HttpEx.INTERNAL_SERVER_ERROR);
+        assertThat(events.get(1).getLong("bodySize")).isEqualTo(-1);
+    }
+}
@@ -7,12 +7,16 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import su.piskun.exlib.core.HttpEx;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -25,6 +29,21 @@ public class ExHandlerTest {
     @Mock
     private ExMapper mapper;
 
+    @Mock
+    private ObjectProvider<ExHandlerListener> listeners;
+
+    @Mock
+    private ObjectProvider<ExLatency> latency;
+
+    @Mock
+    private ObjectProvider<ExLogLimiter> limiter;
+
+    @Mock
+    private ObjectProvider<ExAsyncLogger> asyncLogger;
+
+    @Mock
+    private ObjectProvider<ExStackRenderer> stackRenderer;
+
     @BeforeEach
     public void init() {
         this.sut = new ExHandler(this.mapper);
@@ -67,6 +86,48 @@ public class ExHandlerTest {
         verifyNoMoreInteractions(this.mapper);
     }
 
+    @Test
+    public void handleNotifiesListeners() {
+        // Given.
+        Exception exception = new IllegalStateException();
+        List<String> handled = new ArrayList<>();
+        ExHandlerListener listener = (e, status, code, duration) -> handled.add(e + " " + status + " " + code);
+        given(this.listeners.orderedStream()).willReturn(Stream.of(listener));
+        given(this.mapper.map(exception)).willReturn(ExDto.builder().code(HttpEx.SERVER_ERROR).build());
+
+        // When.
+        handler().handle(exception);
+
+        // Then.
+        assertThat(handled).containsExactly("java.lang.IllegalStateException 500 SERVER_ERROR");
+    }
+
+    @Test
+    public void handleRecordsLatency() {
+        // Given.
+        Exception exception = new IllegalStateException();
+        ExLatency latency = new ExLatency();
+        given(this.listeners.orderedStream()).willReturn(Stream.empty());
+        given(this.latency.getIfAvailable()).willReturn(latency);
+        given(this.mapper.map(exception)).willReturn(ExDto.builder().code(HttpEx.SERVER_ERROR).build());
+
+        // When.
+        handler().handle(exception);
+        latency.written();
+
+        // Then.
+        for (ExLatency.Phase phase : ExLatency.Phase.values()) {
+            assertThat(latency.snapshot(IllegalStateException.class, phase).getCount()).isEqualTo(1);
+        }
+    }
+
+    private ExHandler handler() {
+        given(this.stackRenderer.getIfAvailable(any())).willReturn(new ExStackRenderer());
+        return new ExHandler(
+            this.mapper, this.listeners, this.latency, this.limiter, this.asyncLogger, this.stackRenderer
+        );
+    }
+
     private static Stream<HttpEx> clientErrors() {
         return Stream.of(
             HttpEx.badRequest().build(),
@@ -0,0 +1,145 @@
+package su.piskun.exlib.spring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import su.piskun.exlib.core.HttpEx;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExJsonEncoderTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ExHandler.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final ExJsonEncoder sut = new ExJsonEncoder();
+
+    @BeforeEach
+    void init() {
+        this.appender.start();
+        this.logger.addAppender(this.appender);
+    }
+
+    @AfterEach
+    void reset() {
+        this.logger.detachAppender(this.appender);
+        this.logger.setLevel(null);
+    }
+
+    @Test
+    void handledEx() {
+        // Given.
+        HttpEx ex = HttpEx.notFound().message("user \"J\u00f6rg\" not found").build();
+        ExHandler.write(ex, HttpEx.NOT_FOUND, ExDto.builder().build(), new ExStackRenderer());
+
+        // When.
+        String json = encode(this.appender.list.get(0));
+
+        // Then.
+        assertThat(json)
+            .startsWith("{\"timestamp\":\"")
+            .contains(",\"level\":\"ERROR\",\"logger\":\"su.piskun.exlib.spring.ExHandler\",\"thread\":\"")
+            .contains(",\"status\":404,\"error\":{\"class\":\"su.piskun.exlib.core.HttpEx\"")
+            .contains("\"message\":\"user \\\"J\u00f6rg\\\" not found\"")
+            .contains("\"id\":\"" + ex.getId() + "\"")
+            .doesNotContain("responseId")
+            .endsWith("\"status\":404}}\n");
+    }
+
+    @Test
+    void handledConstant() {
+        // Given.
+        UUID responseId = UUID.randomUUID();
+        HttpEx constant = HttpEx.notFound().constant().build();
+        ExHandler.write(constant, HttpEx.NOT_FOUND, ExDto.builder().id(responseId).build(), new ExStackRenderer());
+
+        // When.
+        String json = encode(this.appender.list.get(0));
+
+        // Then.
+        assertThat(json).contains(",\"status\":404,\"responseId\":\"" + responseId + "\",\"error\":{");
+    }
+
+    @Test
+    void handledStackTrace() {
+        // Given.
+        this.logger.setLevel(Level.TRACE);
+        HttpEx ex = HttpEx.notFound().build();
+        ExHandler.write(ex, HttpEx.NOT_FOUND, ExDto.builder().build(), new ExStackRenderer());
+        ILoggingEvent event = this.appender.list.get(0);
+
+        // When.
+        String json = encode(event);
+
+        // Then.
+        assertThat(json)
+            .contains("\"stack\":\"[stack=")
+            .contains("\\n\\tat su.piskun.exlib.spring.ExJsonEncoderTest.handledStackTrace(")
+            .endsWith("\"}\n");
+        assertThat(event.getFormattedMessage())
+            .startsWith(ex + " [stack=")
+            .contains("\n\tat su.piskun.exlib.spring.ExJsonEncoderTest.handledStackTrace(");
+    }
+
+    @Test
+    void plainEvent() {
+        // Given.
+        this.logger.warn("{} \uD83D\uDE00", "tab\t", new IllegalStateException("failed"));
+
+        // When.
+        String json = encode(this.appender.list.get(0));
+
+        // Then.
+        assertThat(json)
+            .contains(",\"level\":\"WARN\",")
+            .contains(",\"message\":\"tab\\t \uD83D\uDE00\""
+                + ",\"error\":{\"class\":\"java.lang.IllegalStateException\",\"message\":\"failed\""
+                + ",\"stack\":\"java.lang.IllegalStateException: failed\\n\\tat "
+                + "su.piskun.exlib.spring.ExJsonEncoderTest.plainEvent(ExJsonEncoderTest.java:")
+            .endsWith("\\n\"}}\n");
+    }
+
+    @Test
+    void mdc() {
+        // Given.
+        MDC.put("requestId", "r\"1");
+        try {
+            this.logger.info("done");
+
+            // When.
+            String json = encode(this.appender.list.get(0));
+
+            // Then.
+            assertThat(json).contains(",\"thread\":\"" + Thread.currentThread().getName()
+                + "\",\"mdc\":{\"requestId\":\"r\\\"1\"},\"message\":\"done\"}\n");
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    @Test
+    void bufferShrinks() {
+        // Given.
+        ExJsonEncoder.Utf8Buffer buffer = new ExJsonEncoder.Utf8Buffer();
+        buffer.append("x".repeat(ExJsonEncoder.Utf8Buffer.MAX_RETAINED_CAPACITY + 1));
+
+        // When.
+        buffer.reset();
+
+        // Then.
+        assertThat(buffer.capacity()).isEqualTo(ExJsonEncoder.Utf8Buffer.INITIAL_CAPACITY);
+        assertThat(buffer.toByteArray()).isEmpty();
+    }
+
+    private String encode(ILoggingEvent event) {
+        return new String(this.sut.encode(event), StandardCharsets.UTF_8);
+    }
+}
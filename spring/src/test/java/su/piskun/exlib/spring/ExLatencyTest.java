@@ -0,0 +1,69 @@
+package su.piskun.exlib.spring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import su.piskun.exlib.core.HttpEx;
+
+import javax.servlet.http.HttpServlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExLatencyTest {
+
+    @Test
+    void record() {
+        // Given.
+        ExLatency sut = new ExLatency(1);
+
+        // When.
+        sut.record(HttpEx.class, ExLatency.Phase.MAPPING, 1_000);
+        sut.record(HttpEx.class, ExLatency.Phase.MAPPING, 3_000);
+        sut.record(IllegalStateException.class, ExLatency.Phase.MAPPING, 5_000);
+
+        // Then.
+        assertThat(sut.getTypes()).containsExactly(HttpEx.class);
+        assertThat(sut.snapshot(HttpEx.class, ExLatency.Phase.MAPPING).getCount()).isEqualTo(2);
+        assertThat(sut.snapshot(HttpEx.class, ExLatency.Phase.MAPPING).getMax()).isEqualTo(3_000);
+        assertThat(sut.snapshot(HttpEx.class, ExLatency.Phase.LOGGING).getCount()).isZero();
+        assertThat(sut.snapshot(IllegalStateException.class, ExLatency.Phase.MAPPING).getCount()).isZero();
+        assertThat(sut.snapshot(ExLatency.Phase.MAPPING).getCount()).isEqualTo(3);
+        assertThat(sut.snapshot(ExLatency.Phase.MAPPING).getPercentile(100)).isEqualTo(5_000);
+    }
+
+    @Test
+    void filter() throws Exception {
+        // Given.
+        ExLatency latency = new ExLatency();
+        ExLatencyFilter sut = new ExLatencyFilter(latency);
+        MockFilterChain handled = new MockFilterChain(
+            new HttpServlet() {},
+            (request, response, chain) -> latency.handled(HttpEx.class, System.nanoTime())
+        );
+
+        // When.
+        sut.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        sut.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), handled);
+
+        // Then.
+        assertThat(latency.snapshot(ExLatency.Phase.WRITING).getCount()).isEqualTo(1);
+        assertThat(latency.snapshot(HttpEx.class, ExLatency.Phase.WRITING).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void config() {
+        // Given.
+        ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(ExLatencyConfig.class);
+
+        // Then.
+        runner.run(context -> assertThat(context)
+            .doesNotHaveBean(ExLatency.class)
+            .doesNotHaveBean(ExLatencyFilter.class));
+        runner.withPropertyValues(ExLatencyConfig.ENABLED_PROPERTY + "=true")
+            .run(context -> assertThat(context)
+                .hasSingleBean(ExLatency.class)
+                .hasSingleBean(ExLatencyFilter.class));
+    }
+}
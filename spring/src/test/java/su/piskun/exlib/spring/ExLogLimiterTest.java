@@ -0,0 +1,139 @@
+package su.piskun.exlib.spring;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import su.piskun.exlib.core.HttpEx;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExLogLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ExLogLimiter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void init() {
+        this.appender.start();
+        this.logger.addAppender(this.appender);
+    }
+
+    @AfterEach
+    void reset() {
+        this.logger.detachAppender(this.appender);
+    }
+
+    @Test
+    void rateLimit() {
+        // Given.
+        ExLogLimiter sut = new ExLogLimiter(1, 2, 1, Duration.ofHours(1), 10, false);
+        long now = System.nanoTime();
+
+        // When.
+        boolean first = sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now);
+        boolean second = sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now);
+        boolean third = sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now);
+        boolean otherStatus = sut.tryLog(HttpEx.class, 400, HttpEx.CLIENT_ERROR, now);
+        boolean otherClass = sut.tryLog(IllegalStateException.class, 404, HttpEx.CLIENT_ERROR, now);
+        boolean later = sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now + SECOND);
+
+        // Then.
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(otherStatus).isTrue();
+        assertThat(otherClass).isTrue();
+        assertThat(later).isTrue();
+    }
+
+    @Test
+    void sampling() {
+        // Given.
+        ExLogLimiter sut = new ExLogLimiter(1_000, 1_000, 10, Duration.ofHours(1), 10, false);
+        long now = System.nanoTime();
+
+        // When.
+        int logged = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now)) {
+                logged++;
+            }
+        }
+
+        // Then.
+        assertThat(logged).isEqualTo(10);
+    }
+
+    @Test
+    void summary() {
+        // Given.
+        ExLogLimiter sut = new ExLogLimiter(1, 1, 1, Duration.ofSeconds(10), 1, false);
+        long now = System.nanoTime();
+
+        // When.
+        for (int i = 0; i < 5; i++) {
+            sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now);
+            sut.tryLog(IllegalStateException.class, 500, HttpEx.SERVER_ERROR, now);
+        }
+        sut.summarize();
+        sut.summarize();
+
+        // Then.
+        assertThat(this.appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+            "Suppressed 4 similar errors: status=404, code=CLIENT_ERROR, exception=su.piskun.exlib.core.HttpEx",
+            "Suppressed 4 similar errors: status=0, code=OTHER, exception=OTHER"
+        );
+    }
+
+    @Test
+    void summaryOnClose() {
+        // Given.
+        ExLogLimiter sut = new ExLogLimiter(1, 1, 1, Duration.ofHours(1), 10);
+        long now = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now);
+        }
+
+        // When.
+        sut.close();
+
+        // Then.
+        assertThat(this.appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+            "Suppressed 2 similar errors: status=404, code=CLIENT_ERROR, exception=su.piskun.exlib.core.HttpEx"
+        );
+    }
+
+    @Test
+    void validation() {
+        assertThatThrownBy(() -> new ExLogLimiter(0, 1, 1, Duration.ofHours(1), 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExLogLimiter(2e9, 1, 1, Duration.ofHours(1), 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExLogLimiter(1, 1, 1, Duration.ZERO, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void longBurst() {
+        // Given.
+        ExLogLimiter sut = new ExLogLimiter(1e-9, Integer.MAX_VALUE, 1, Duration.ofHours(1), 10, false);
+        long now = System.nanoTime();
+
+        // When.
+        boolean first = sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now);
+        boolean second = sut.tryLog(HttpEx.class, 404, HttpEx.CLIENT_ERROR, now);
+
+        // Then.
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+    }
+}
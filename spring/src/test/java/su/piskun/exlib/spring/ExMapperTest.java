@@ -1,15 +1,26 @@
 package su.piskun.exlib.spring;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import su.piskun.exlib.core.Ex;
+import su.piskun.exlib.core.ExClock;
+import su.piskun.exlib.core.ExSettings;
 import su.piskun.exlib.core.HttpEx;
 
+import java.time.Instant;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ExMapperTest {
 
     private final ExMapper sut = new ExMapper();
 
+    @AfterEach
+    void reset() {
+        ExSettings.reset();
+    }
+
     @Test
     void map() {
         // Given.
@@ -27,6 +38,29 @@ class ExMapperTest {
         assertThat(target.getCode()).isEqualTo(source.getCode());
         assertThat(target.getTimestamp()).isEqualTo(source.getTimestamp());
         assertThat(target.getContext()).isEqualTo(source.getContext());
+        assertThat(target.getContext()).isSameAs(source.getContext());
+    }
+
+    @Test
+    void mapConstant() {
+        // Given.
+        HttpEx source = HttpEx.notFound()
+            .message("resource not found")
+            .constant()
+            .build();
+        UUID id = UUID.randomUUID();
+        Instant timestamp = Instant.parse("2022-08-02T16:20:51.724925378Z");
+        ExSettings.setIdGenerator(() -> id);
+        ExSettings.setClock(ExClock.fixed(timestamp));
+
+        // When.
+        ExDto target = sut.map(source);
+
+        // Then.
+        assertThat(target.getId()).isEqualTo(id);
+        assertThat(target.getTimestamp()).isEqualTo(timestamp);
+        assertThat(target.getMessage()).isEqualTo(source.getMessage());
+        assertThat(target.getCode()).isEqualTo(HttpEx.CLIENT_ERROR);
     }
 
     @Test
@@ -45,6 +79,22 @@ class ExMapperTest {
         assertThat(target.getContext()).isNull();
     }
 
+    @Test
+    void mapDefaultWithSettings() {
+        // Given.
+        UUID id = UUID.randomUUID();
+        Instant timestamp = Instant.parse("2022-08-02T16:20:51.724925378Z");
+        ExSettings.setIdGenerator(() -> id);
+        ExSettings.setClock(ExClock.fixed(timestamp));
+
+        // When.
+        ExDto target = sut.map(new RuntimeException("message"));
+
+        // Then.
+        assertThat(target.getId()).isEqualTo(id);
+        assertThat(target.getTimestamp()).isEqualTo(timestamp);
+    }
+
     @Test
     void mapWithoutContext() {
         // Given.
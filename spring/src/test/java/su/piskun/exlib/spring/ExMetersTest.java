@@ -0,0 +1,106 @@
+package su.piskun.exlib.spring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import su.piskun.exlib.core.HttpEx;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExMetersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void record() {
+        // Given.
+        ExMeters sut = new ExMeters(this.registry);
+
+        // When.
+        sut.handled(HttpEx.notFound("message"), HttpEx.NOT_FOUND, HttpEx.CLIENT_ERROR, 1_000_000);
+        sut.handled(HttpEx.notFound("message"), HttpEx.NOT_FOUND, HttpEx.CLIENT_ERROR, 3_000_000);
+        sut.handled(new IllegalStateException(), HttpEx.INTERNAL_SERVER_ERROR, HttpEx.SERVER_ERROR, 1_000_000);
+
+        // Then.
+        Counter counter = this.registry.get(ExMeters.COUNTER_NAME)
+            .tags("status", "404", "code", HttpEx.CLIENT_ERROR, "exception", "HttpEx")
+            .counter();
+        Timer timer = this.registry.get(ExMeters.TIMER_NAME)
+            .tags("status", "404", "code", HttpEx.CLIENT_ERROR, "exception", "HttpEx")
+            .timer();
+        assertThat(counter.count()).isEqualTo(2);
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4);
+        assertThat(this.registry.get(ExMeters.COUNTER_NAME)
+            .tags("status", "500", "code", HttpEx.SERVER_ERROR, "exception", "IllegalStateException")
+            .counter()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void cardinalityGuard() {
+        // Given.
+        ExMeters sut = new ExMeters(this.registry, 5, List.of("KNOWN"));
+
+        // When.
+        for (int i = 0; i < 10; i++) {
+            sut.handled(new IllegalStateException(), HttpEx.BAD_REQUEST, "code" + i, 0);
+        }
+        sut.handled(new IllegalStateException(), HttpEx.BAD_REQUEST, "KNOWN", 0);
+
+        // Then.
+        // Three default codes, one known code and one dynamic code fit into the limit.
+        assertThat(this.registry.get(ExMeters.COUNTER_NAME).tags("code", "code0").counter().count()).isEqualTo(1);
+        assertThat(this.registry.get(ExMeters.COUNTER_NAME).tags("code", ExMeters.OTHER).counter().count()).isEqualTo(9);
+        assertThat(this.registry.get(ExMeters.COUNTER_NAME).tags("code", "KNOWN").counter().count()).isEqualTo(1);
+        assertThat(this.registry.find(ExMeters.COUNTER_NAME).counters()).hasSize(3);
+    }
+
+    @Test
+    void anonymousClass() {
+        // Given.
+        ExMeters sut = new ExMeters(this.registry);
+        IllegalStateException exception = new IllegalStateException() {};
+
+        // When.
+        sut.handled(exception, HttpEx.INTERNAL_SERVER_ERROR, HttpEx.SERVER_ERROR, 0);
+
+        // Then.
+        assertThat(this.registry.get(ExMeters.COUNTER_NAME)
+            .tags("exception", exception.getClass().getName())
+            .counter()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void statuses() {
+        // Given.
+        ExMeters sut = new ExMeters(this.registry);
+
+        // When.
+        sut.handled(new IllegalStateException(), HttpEx.BAD_REQUEST, HttpEx.CLIENT_ERROR, 0);
+        sut.handled(new IllegalStateException(), HttpEx.NOT_FOUND, HttpEx.CLIENT_ERROR, 0);
+        sut.handled(new IllegalStateException(), HttpEx.BAD_REQUEST, HttpEx.CLIENT_ERROR, 0);
+
+        // Then.
+        assertThat(this.registry.get(ExMeters.COUNTER_NAME).tags("status", "400").counter().count()).isEqualTo(2);
+        assertThat(this.registry.get(ExMeters.COUNTER_NAME).tags("status", "404").counter().count()).isEqualTo(1);
+        assertThat(this.registry.find(ExMeters.COUNTER_NAME).counters()).hasSize(2);
+    }
+
+    @Test
+    void config() {
+        // Given.
+        ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(ExMetersConfig.class);
+
+        // Then.
+        runner.run(context -> assertThat(context).hasSingleBean(ExMeters.class));
+        runner.withPropertyValues(ExMetersConfig.ENABLED_PROPERTY + "=false")
+            .run(context -> assertThat(context).doesNotHaveBean(ExMeters.class));
+    }
+}
@@ -0,0 +1,184 @@
+package su.piskun.exlib.spring;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExStackRendererTest {
+
+    private final ExStackRenderer sut = new ExStackRenderer();
+
+    @Test
+    void fold() {
+        // Given.
+        IllegalStateException e = exception(
+            frame("com.example.UserService", "find"),
+            frame("org.springframework.aop.Proxy", "invoke"),
+            frame("jdk.internal.reflect.Method", "invoke"),
+            frame("org.springframework.web.Servlet", "service"),
+            frame("com.example.UserController", "get"),
+            frame("org.apache.catalina.Valve", "invoke")
+        );
+
+        // When.
+        String result = this.sut.render(e);
+
+        // Then.
+        assertThat(result).matches(" \\[stack=[0-9a-f]+]\n(?s).*").endsWith(
+            "\n\tat com.example.UserService.find(Unknown Source)"
+                + "\n\t... 3 frames in org.springframework, jdk.internal.reflect"
+                + "\n\tat com.example.UserController.get(Unknown Source)"
+                + "\n\t... 1 frame in org.apache.catalina"
+        );
+    }
+
+    @Test
+    void maxDepth() {
+        // Given.
+        ExStackRenderer sut = new ExStackRenderer(2, List.of("org.springframework."));
+        IllegalStateException e = exception(
+            frame("com.example.A", "a"),
+            frame("org.springframework.B", "b"),
+            frame("com.example.C", "c"),
+            frame("com.example.D", "d"),
+            frame("org.springframework.E", "e")
+        );
+
+        // When.
+        String result = sut.render(e);
+
+        // Then.
+        assertThat(result).endsWith(
+            "\n\tat com.example.A.a(Unknown Source)"
+                + "\n\t... 1 frame in org.springframework"
+                + "\n\t... 3 more frames"
+        );
+    }
+
+    @Test
+    void deduplicate() {
+        // Given.
+        IllegalStateException first = exception(frame("com.example.A", "a"));
+        IllegalStateException second = exception(frame("com.example.A", "a"));
+        IllegalStateException other = exception(frame("com.example.B", "b"));
+
+        // When.
+        String firstResult = this.sut.render(first);
+        String secondResult = this.sut.render(second);
+        String otherResult = this.sut.render(other);
+
+        // Then.
+        assertThat(firstResult).contains("\tat com.example.A.a");
+        assertThat(secondResult).isEqualTo(firstResult.substring(0, firstResult.indexOf('\n')));
+        assertThat(otherResult).contains("\tat com.example.B.b").doesNotStartWith(secondResult);
+    }
+
+    @Test
+    void cause() {
+        // Given.
+        IOException cause = new IOException("connection reset");
+        cause.setStackTrace(new StackTraceElement[] {
+            frame("com.example.UserClient", "get"),
+            frame("com.example.UserService", "find"),
+            frame("com.example.UserController", "get")
+        });
+        IllegalStateException e = new IllegalStateException("failed", cause);
+        e.setStackTrace(new StackTraceElement[] {
+            frame("com.example.UserService", "find"),
+            frame("com.example.UserController", "get")
+        });
+
+        // When.
+        String result = this.sut.render(e);
+
+        // Then.
+        assertThat(result).endsWith(
+            "\n\tat com.example.UserController.get(Unknown Source)"
+                + "\nCaused by: java.io.IOException: connection reset"
+                + "\n\tat com.example.UserClient.get(Unknown Source)"
+                + "\n\t... 2 more"
+        );
+    }
+
+    @Test
+    void suppressed() {
+        // Given.
+        IllegalStateException e = exception(
+            frame("com.example.UserService", "find"),
+            frame("com.example.UserController", "get")
+        );
+        IOException suppressed = new IOException("close failed", exception(
+            frame("com.example.Socket", "close"),
+            frame("com.example.UserClient", "close"),
+            frame("com.example.UserService", "find"),
+            frame("com.example.UserController", "get")
+        ));
+        suppressed.setStackTrace(new StackTraceElement[] {
+            frame("com.example.UserClient", "close"),
+            frame("com.example.UserService", "find"),
+            frame("com.example.UserController", "get")
+        });
+        e.addSuppressed(suppressed);
+
+        // When.
+        String result = this.sut.render(e);
+
+        // Then.
+        assertThat(result).endsWith(
+            "\n\tat com.example.UserController.get(Unknown Source)"
+                + "\n\tSuppressed: java.io.IOException: close failed"
+                + "\n\t\tat com.example.UserClient.close(Unknown Source)"
+                + "\n\t\t... 2 more"
+                + "\n\tCaused by: java.lang.IllegalStateException"
+                + "\n\t\tat com.example.Socket.close(Unknown Source)"
+                + "\n\t\t... 3 more"
+        );
+        String withoutSuppressed = this.sut.render(exception(
+            frame("com.example.UserService", "find"),
+            frame("com.example.UserController", "get")
+        ));
+        assertThat(withoutSuppressed.substring(0, withoutSuppressed.indexOf('\n')))
+            .isNotEqualTo(result.substring(0, result.indexOf('\n')));
+    }
+
+    @Test
+    void suppressedCycle() {
+        // Given.
+        IllegalStateException e = exception(frame("com.example.A", "a"));
+        IllegalStateException suppressed = new IllegalStateException("suppressed", e);
+        e.addSuppressed(suppressed);
+        for (int i = 0; i < ExStackRenderer.MAX_THROWABLES; i++) {
+            suppressed.addSuppressed(exception(frame("com.example.B", "b" + i)));
+        }
+
+        // When.
+        String result = this.sut.render(e);
+
+        // Then.
+        assertThat(result)
+            .containsOnlyOnce("Suppressed: java.lang.IllegalStateException: suppressed")
+            .doesNotContain("Caused by:")
+            .contains("com.example.B.b" + (ExStackRenderer.MAX_THROWABLES - 3) + "(")
+            .doesNotContain("com.example.B.b" + (ExStackRenderer.MAX_THROWABLES - 2) + "(");
+    }
+
+    @Test
+    void invalidMaxDepth() {
+        assertThatThrownBy(() -> new ExStackRenderer(0, List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static IllegalStateException exception(StackTraceElement... frames) {
+        IllegalStateException e = new IllegalStateException();
+        e.setStackTrace(frames);
+        return e;
+    }
+
+    private static StackTraceElement frame(String className, String methodName) {
+        return new StackTraceElement(className, methodName, null, -1);
+    }
+}
@@ -0,0 +1,59 @@
+package su.piskun.exlib.test;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the average number of bytes allocated per call of warmed up code.
+ * <p>
+ *     The object sizes depend on the VM, so the measurements are only made with the C2 compiler
+ *     and compressed oops (the HotSpot defaults the budgets are set for), the tests are skipped otherwise.
+ * </p>
+ */
+public final class Allocations {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 10_000;
+
+    private Allocations() {}
+
+    /**
+     * Returns the average number of bytes allocated by the current thread per call.
+     * @param action an action to measure, it should store its result in a field, so it's not scalar replaced.
+     * @return the number of bytes.
+     * @throws Exception if the action fails.
+     */
+    public static long allocatedBytes(final Action action) throws Exception {
+        assumeTrue(isDefaultHotSpot(), "The allocation budgets are set for C2 with compressed oops");
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.run();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        final long after = threads.getThreadAllocatedBytes(threadId);
+        return (after - before) / ITERATIONS;
+    }
+
+    private static boolean isDefaultHotSpot() {
+        final HotSpotDiagnosticMXBean vm = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        return vm != null
+            && System.getProperty("java.vm.info", "").contains("mixed mode")
+            && "4".equals(vm.getVMOption("TieredStopAtLevel").getValue())
+            && "true".equals(vm.getVMOption("UseCompressedOops").getValue())
+            && "true".equals(vm.getVMOption("UseCompressedClassPointers").getValue());
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}